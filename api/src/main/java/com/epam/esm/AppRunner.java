@@ -3,6 +3,7 @@ package com.epam.esm;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Class {@code AppRunner} contains method to run Spring Boot application.
@@ -10,6 +11,7 @@ import org.springframework.boot.web.servlet.support.SpringBootServletInitializer
  * @author Dmitry Poliukov
  */
 @SpringBootApplication
+@EnableScheduling
 public class AppRunner extends SpringBootServletInitializer {
 
     public static void main(String[] args) {
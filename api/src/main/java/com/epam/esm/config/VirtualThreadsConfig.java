@@ -0,0 +1,125 @@
+package com.epam.esm.config;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class {@code VirtualThreadsConfig} serves requests on virtual threads, one per task,
+ * instead of the Tomcat worker pool. Enabled by the {@code virtual-threads} profile.
+ * Concurrency is then bounded by the JDBC pool, which the profile sizes in its properties.
+ * MySQL Connector/J 8 does its socket I/O in synchronized blocks, which pin a virtual thread to its carrier
+ * for the whole query, so the pool is also kept below the number of carriers, see {@link #jdbcPoolCarrierBound()}.
+ * The executor is looked up reflectively, so the application still builds for Java 11
+ * and fails at startup when the profile is enabled on a JVM without virtual threads.
+ *
+ * @author Dmitry Poliukov
+ */
+@Configuration
+@Profile(VirtualThreadsConfig.PROFILE)
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+
+    public static final String PROFILE = "virtual-threads";
+    private static final String EXECUTOR_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+    private static final String PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private final ExecutorService virtualThreadExecutor;
+    private final ObjectProvider<TaskDecorator> taskDecorator;
+
+    @Autowired
+    public VirtualThreadsConfig(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                        ExecutorService virtualThreadExecutor,
+                                ObjectProvider<TaskDecorator> taskDecorator) {
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        this.taskDecorator = taskDecorator;
+    }
+
+    /**
+     * Static, since this configuration is constructed with the executor.
+     * Named as the application task executor of Spring Boot, which backs off when it is defined,
+     * so application tasks such as saving users run on virtual threads too.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(EXECUTOR_FACTORY_METHOD).invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Profile " + PROFILE + " needs Java 21 or later, running on "
+                    + System.getProperty("java.version"), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can't create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Caps the JDBC pool one below the parallelism of the virtual thread scheduler.
+     * A virtual thread pinned in a query blocks its carrier, so with a connection per carrier
+     * every carrier waits for the database and no other virtual thread, request or not, can run.
+     * Threads waiting for a connection park on a lock of the pool, which doesn't pin.
+     * To keep a larger pool, start the JVM with {@code -Djdk.virtualThreadScheduler.parallelism}
+     * above {@code spring.datasource.dbcp2.max-total}.
+     * Static, as a post processor is created before the other beans.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcPoolCarrierBound() {
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof BasicDataSource) {
+                    boundPool((BasicDataSource) bean, parallelism);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void boundPool(BasicDataSource dataSource, int parallelism) {
+        int maxTotal = Math.max(1, parallelism - 1);
+        if (dataSource.getMaxTotal() >= 0 && dataSource.getMaxTotal() <= maxTotal) {
+            return;
+        }
+        LOGGER.warn("JDBC pool max-total {} reduced to {}, below the {} virtual thread carriers, "
+                        + "set {} to keep it", dataSource.getMaxTotal(), maxTotal, parallelism, PARALLELISM_PROPERTY);
+        dataSource.setMaxTotal(maxTotal);
+        dataSource.setMaxIdle(Math.min(dataSource.getMaxIdle(), maxTotal));
+        dataSource.setMinIdle(Math.min(dataSource.getMinIdle(), maxTotal));
+        dataSource.setInitialSize(Math.min(dataSource.getInitialSize(), maxTotal));
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return factory -> factory.addProtocolHandlerCustomizers(
+                protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor));
+    }
+
+    /**
+     * Streaming and callable responses are completed on virtual threads as well,
+     * with the task decorator that Spring Boot would have applied to its own executor.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        TaskExecutorAdapter asyncExecutor = new TaskExecutorAdapter(virtualThreadExecutor);
+        taskDecorator.ifUnique(asyncExecutor::setTaskDecorator);
+        configurer.setTaskExecutor(asyncExecutor);
+    }
+}
@@ -1,20 +1,35 @@
 package com.epam.esm.controller;
 
+import com.epam.esm.hateoas.CursorPageAssembler;
 import com.epam.esm.hateoas.HateoasAdder;
+import com.epam.esm.hateoas.LinkMode;
 import com.epam.esm.repository.dto.CertificateDto;
 import com.epam.esm.repository.dto.TagDto;
+import com.epam.esm.repository.entity.ImportReport;
+import com.epam.esm.service.CertificateImportService;
 import com.epam.esm.service.CertificateService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
  * Class {@code CertificateController} is an endpoint of the API
@@ -30,17 +45,30 @@ import java.util.stream.Collectors;
 @RequestMapping("/certificates")
 public class CertificateController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String SORT_PARAMETER = "sort";
+    private static final int NEW_LINE = '\n';
+
     private final CertificateService certificateService;
+    private final CertificateImportService certificateImportService;
     private final HateoasAdder<CertificateDto> certificateHateoasAdder;
     private final HateoasAdder<TagDto> tagDtoHateoasAdder;
+    private final CursorPageAssembler cursorPageAssembler;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public CertificateController(CertificateService certificateService,
+                                 CertificateImportService certificateImportService,
                                  HateoasAdder<CertificateDto> certificateHateoasAdder,
-                                 HateoasAdder<TagDto> tagDtoHateoasAdder) {
+                                 HateoasAdder<TagDto> tagDtoHateoasAdder,
+                                 CursorPageAssembler cursorPageAssembler,
+                                 ObjectMapper objectMapper) {
         this.certificateService = certificateService;
+        this.certificateImportService = certificateImportService;
         this.certificateHateoasAdder = certificateHateoasAdder;
         this.tagDtoHateoasAdder = tagDtoHateoasAdder;
+        this.cursorPageAssembler = cursorPageAssembler;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -63,37 +91,102 @@ public class CertificateController {
      *
      * @param page the number of page for pagination
      * @param size the size of page for pagination
+     * @param links the links mode, none to skip hateoas
      * @return List of gift certificates with hateoas
      */
     @GetMapping
     public List<CertificateDto> readCertificates(@RequestParam(value = "page", defaultValue = "1", required = false) @Min(1) int page,
-                                                 @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
-        return certificateService.readAll(page,size).stream()
-                .peek(certificateDto -> certificateDto.getTagsDto().forEach(tagDtoHateoasAdder::addLinks))
-                .peek(certificateHateoasAdder::addLinks)
-                .collect(Collectors.toList());
+                                                 @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                                 @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
+        return addLinks(certificateService.readAll(page, size), links);
+    }
+
+    /**
+     * Method for getting keyset page of gift certificates.
+     *
+     * @param after the cursor token of the previous page, empty for the first page
+     * @param size the size of page for pagination
+     * @param links the links mode, none to skip hateoas of the items
+     * @return page of gift certificates with hateoas and the link to the next page
+     */
+    @GetMapping(params = "after")
+    public CollectionModel<CertificateDto> readCertificatesAfter(@RequestParam("after") String after,
+                                                                 @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                                                 @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
+        List<CertificateDto> certificates = addLinks(certificateService.readAllAfter(after, size), links);
+        return cursorPageAssembler.toModel(certificates, size, CertificateDto::getId,
+                next -> methodOn(CertificateController.class).readCertificatesAfter(next, size, links));
+    }
+
+    /**
+     * Method for exporting all gift certificates with their tags as newline-delimited JSON.
+     * The certificates are streamed from a database cursor, without hateoas.
+     *
+     * @return stream of gift certificates, one JSON object per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCertificates() {
+        StreamingResponseBody body = outputStream -> certificateService.exportAll(certificateDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(certificateDto));
+                outputStream.write(NEW_LINE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Method for importing gift certificates in bulk.
+     * Takes a JSON array or newline-delimited JSON, which is read as a stream.
+     *
+     * @param body the request body with gift certificates
+     * @return report with the number of imported certificates and the failed rows
+     * @throws IOException if the body can't be read
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportReport importCertificates(InputStream body) throws IOException {
+        try (MappingIterator<CertificateDto> certificates = objectMapper.readerFor(CertificateDto.class)
+                .readValues(body)) {
+            return certificateImportService.importCertificates(certificates);
+        }
     }
 
     /**
      * Method for getting list of gift certificates from data source by special filter.
+     * Sort keys come as repeated {@code sort=field,dir} parameters, e.g. {@code sort=name,asc&sort=date,desc}.
+     * They are read from the request directly, since binding a single value would split it on the comma.
      *
      * @param tagName               the name of tag
      * @param descriptionOrNamePart part of name or description gift certificate
-     * @param sortParameter         sort type (date or name gift certificate)
-     * @param ascending             boolean sort ascending
+     * @param sortParameter         sort type (date or name gift certificate), used when no sort is given
+     * @param ascending             boolean sort ascending, used with sortParameter
+     * @param links                 the links mode, none to skip hateoas
+     * @param request               the request holding the sort parameters
      * @return List of found gift certificates with hateoas
      */
     @GetMapping("/search")
     public List<CertificateDto> readCertificateWithParams(@RequestParam(required = false) String tagName, @RequestParam(required = false) String descriptionOrNamePart,
                                                           @RequestParam(required = false) String sortParameter, @RequestParam(required = false) boolean ascending,
                                                           @RequestParam(value = "page", defaultValue = "1", required = false) @Min(1) int page,
-                                                          @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
-
-        return certificateService.readCertificateWithParams(tagName, descriptionOrNamePart, sortParameter, ascending, page, size).stream()
-                .peek(certificateDto -> certificateDto.getTagsDto().forEach(tagDtoHateoasAdder::addLinks))
-                .peek(certificateHateoasAdder::addLinks)
-                .collect(Collectors.toList());
+                                                          @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                                          @RequestParam(value = LinkMode.PARAMETER, required = false) String links,
+                                                          HttpServletRequest request) {
+        String[] sortValues = request.getParameterValues(SORT_PARAMETER);
+        List<String> sort;
+        if (sortValues != null) {
+            sort = Arrays.asList(sortValues);
+        } else if (sortParameter != null) {
+            sort = Collections.singletonList(sortParameter + (ascending ? ",asc" : ",desc"));
+        } else {
+            sort = Collections.emptyList();
+        }
 
+        return addLinks(certificateService.readCertificateWithParams(tagName, descriptionOrNamePart, sort, page, size),
+                links);
     }
 
     /**
@@ -147,18 +240,31 @@ public class CertificateController {
      * @param tag one or more tag's name
      * @param page the number of page for pagination
      * @param size the size of page for pagination
-     * @return List of found gift certificates with hateoas
+     * @param links the links mode, none to skip hateoas
+     * @return List of found gift certificates with hateoas and the total number of matches
+     * in the X-Total-Count header
      */
 
     @GetMapping("/some-tags")
     @ResponseStatus(HttpStatus.OK)
-    public List<CertificateDto> readBySomeTags(@RequestParam("tag") Optional<String[]> tag,
+    public ResponseEntity<List<CertificateDto>> readBySomeTags(@RequestParam("tag") Optional<String[]> tag,
                                             @RequestParam(value = "page", defaultValue = "1", required = false) @Min(1) int page,
-                                            @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
-    List<String> tags = Arrays.asList(tag.get());
-        return certificateService.readBySomeTags(tags, page, size).stream()
-                .peek(certificateDto -> certificateDto.getTagsDto().forEach(tagDtoHateoasAdder::addLinks))
-                .peek(certificateHateoasAdder::addLinks)
-                .collect(Collectors.toList());
+                                            @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                            @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
+        List<String> tags = tag.map(Arrays::asList).orElse(Collections.emptyList());
+        List<CertificateDto> certificates = addLinks(certificateService.readBySomeTags(tags, page, size), links);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(certificateService.countBySomeTags(tags)))
+                .body(certificates);
+    }
+
+    private List<CertificateDto> addLinks(List<CertificateDto> certificates, String links) {
+        if (LinkMode.fromParameter(links).isEnabled()) {
+            certificates.forEach(certificateDto -> {
+                certificateDto.getTagsDto().forEach(tagDtoHateoasAdder::addLinks);
+                certificateHateoasAdder.addLinks(certificateDto);
+            });
+        }
+        return certificates;
     }
 }
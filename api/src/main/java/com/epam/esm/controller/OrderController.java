@@ -1,25 +1,26 @@
 package com.epam.esm.controller;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.interfaces.DecodedJWT;
 import com.epam.esm.exception.PermissionException;
+import com.epam.esm.hateoas.CursorPageAssembler;
 import com.epam.esm.hateoas.HateoasAdder;
+import com.epam.esm.hateoas.LinkMode;
 import com.epam.esm.repository.dto.CertificateDto;
 import com.epam.esm.repository.dto.OrderDto;
 import com.epam.esm.repository.dto.TagDto;
 import com.epam.esm.repository.dto.UserDto;
+import com.epam.esm.security.JwtPrincipal;
 import com.epam.esm.service.OrderService;
 import com.epam.esm.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
  * Class {@code OrderController} is an endpoint of the API which allows to perform operations on orders.
@@ -39,24 +40,25 @@ public class OrderController {
     private final HateoasAdder<UserDto> userDtoHateoasAdder;
     private final HateoasAdder<CertificateDto> certificateDtoHateoasAdder;
     private final HateoasAdder<TagDto> tagDtoHateoasAdder;
+    private final CursorPageAssembler cursorPageAssembler;
 
     @Autowired
     public OrderController(OrderService orderService,
                            UserService userService, HateoasAdder<OrderDto> hateoasAdder,
                            HateoasAdder<UserDto> userDtoHateoasAdder,
                            HateoasAdder<CertificateDto> certificateDtoHateoasAdder,
-                           HateoasAdder<TagDto> tagDtoHateoasAdder) {
+                           HateoasAdder<TagDto> tagDtoHateoasAdder,
+                           CursorPageAssembler cursorPageAssembler) {
         this.orderService = orderService;
         this.userService = userService;
         this.hateoasAdder = hateoasAdder;
         this.userDtoHateoasAdder = userDtoHateoasAdder;
         this.certificateDtoHateoasAdder = certificateDtoHateoasAdder;
         this.tagDtoHateoasAdder = tagDtoHateoasAdder;
+        this.cursorPageAssembler = cursorPageAssembler;
     }
 
 
-    private static final String JWT_SECRET = "secret";
-
     private static final String PERMISSION_MESSAGE = "You don't have permission to do that";
 
     /**
@@ -67,9 +69,9 @@ public class OrderController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public OrderDto createOrder(@RequestHeader("Authorization") String authorizationHeader,
+    public OrderDto createOrder(@RequestAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) JwtPrincipal principal,
                                 @RequestBody @Valid OrderDto order) {
-        if (isEmailsEquals(authorizationHeader, order)) {
+        if (isEmailsEquals(principal, order)) {
             OrderDto addedOrder = orderService.create(order);
             hateoasAdder.addLinks(addedOrder);
             return addedOrder;
@@ -85,10 +87,10 @@ public class OrderController {
      * @return Found order entity with hateoas
      */
     @GetMapping("/{id}")
-    public OrderDto readOrder(@RequestHeader("Authorization") String authorizationHeader,
+    public OrderDto readOrder(@RequestAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) JwtPrincipal principal,
                               @PathVariable("id") int id) {
         OrderDto order = orderService.readOrder(id);
-        if (isEmailsEquals(authorizationHeader, order)) {
+        if (isEmailsEquals(principal, order)) {
             hateoasAdder.addLinks(order);
             userDtoHateoasAdder.addLinks(order.getUserDto());
             certificateDtoHateoasAdder.addLinks(order.getCertificateDto());
@@ -106,40 +108,63 @@ public class OrderController {
      * @param userId ID of user
      * @param page   the number of page for pagination
      * @param size   the size of page for pagination
+     * @param links  the links mode, none to skip hateoas
      * @return Found list of orders with hateoas
      */
     @GetMapping("/users/{userId}")
-    public List<OrderDto> ordersByUserId(@RequestHeader("Authorization") String authorizationHeader,
+    public List<OrderDto> ordersByUserId(@RequestAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) JwtPrincipal principal,
                                          @PathVariable int userId,
                                          @RequestParam(value = "page", defaultValue = "1", required = false) @Min(1) int page,
-                                         @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
+                                         @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                         @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
         String emailFromPath = userService.read(userId).getEmail();
-        String emailFromAuth = getEmailFromHeader(authorizationHeader);
+        String emailFromAuth = principal.getEmail();
         if (emailFromAuth.equals(emailFromPath)) {
-            List<OrderDto> orders = orderService.readAllByUserId(userId, page, size);
+            return addLinks(orderService.readAllByUserId(userId, page, size), links);
+        } else {
+            throw new PermissionException(PERMISSION_MESSAGE);
+        }
+    }
 
-            return orders.stream()
-                    .peek(orderDto -> userDtoHateoasAdder.addLinks(orderDto.getUserDto()))
-                    .peek(orderDto -> certificateDtoHateoasAdder.addLinks(orderDto.getCertificateDto()))
-                    .peek(orderDto -> orderDto.getCertificateDto().getTagsDto().forEach(tagDtoHateoasAdder::addLinks))
-                    .peek(hateoasAdder::addLinks)
-                    .collect(Collectors.toList());
+    /**
+     * Method for getting keyset page of orders by user ID.
+     *
+     * @param userId ID of user
+     * @param after  the cursor token of the previous page, empty for the first page
+     * @param size   the size of page for pagination
+     * @param links  the links mode, none to skip hateoas of the items
+     * @return page of orders with hateoas and the link to the next page
+     */
+    @GetMapping(value = "/users/{userId}", params = "after")
+    public CollectionModel<OrderDto> ordersByUserIdAfter(@RequestAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) JwtPrincipal principal,
+                                                         @PathVariable int userId,
+                                                         @RequestParam("after") String after,
+                                                         @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                                         @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
+        String emailFromPath = userService.read(userId).getEmail();
+        String emailFromAuth = principal.getEmail();
+        if (emailFromAuth.equals(emailFromPath)) {
+            List<OrderDto> orders = addLinks(orderService.readAllByUserIdAfter(userId, after, size), links);
+            return cursorPageAssembler.toModel(orders, size, OrderDto::getId,
+                    next -> methodOn(OrderController.class).ordersByUserIdAfter(null, userId, next, size, links));
         } else {
             throw new PermissionException(PERMISSION_MESSAGE);
         }
     }
 
-    private boolean isEmailsEquals(String authorizationHeader, OrderDto orderDto) {
-        String emailFromToken = getEmailFromHeader(authorizationHeader);
-        return emailFromToken.equals(orderDto.getUserDto().getEmail());
+    private List<OrderDto> addLinks(List<OrderDto> orders, String links) {
+        if (LinkMode.fromParameter(links).isEnabled()) {
+            orders.forEach(orderDto -> {
+                userDtoHateoasAdder.addLinks(orderDto.getUserDto());
+                certificateDtoHateoasAdder.addLinks(orderDto.getCertificateDto());
+                orderDto.getCertificateDto().getTagsDto().forEach(tagDtoHateoasAdder::addLinks);
+                hateoasAdder.addLinks(orderDto);
+            });
+        }
+        return orders;
     }
 
-    private String getEmailFromHeader(String authorizationHeader) {
-        final String BEARER = "Bearer ";
-        String token = authorizationHeader.substring(BEARER.length());
-        Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET.getBytes());
-        JWTVerifier verifier = JWT.require(algorithm).build();
-        DecodedJWT decodedJWT = verifier.verify(token);
-        return decodedJWT.getSubject();
+    private boolean isEmailsEquals(JwtPrincipal principal, OrderDto orderDto) {
+        return principal.getEmail().equals(orderDto.getUserDto().getEmail());
     }
 }
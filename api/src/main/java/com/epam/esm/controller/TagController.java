@@ -1,9 +1,11 @@
 package com.epam.esm.controller;
 
+import com.epam.esm.hateoas.CursorPageAssembler;
 import com.epam.esm.hateoas.HateoasAdder;
 import com.epam.esm.repository.dto.TagDto;
 import com.epam.esm.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +14,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 /**
  * Class {@code TagController} is an endpoint of the API which allows to perform CRD operations on tags.
  * Annotated by {@link RestController} with no parameters to provide an answer in application/json.
@@ -26,11 +30,14 @@ public class TagController {
 
     private final TagService tagService;
     private final HateoasAdder<TagDto> tagHateoasAdder;
+    private final CursorPageAssembler cursorPageAssembler;
 
     @Autowired
-    public TagController(TagService tagService, HateoasAdder<TagDto> tagHateoasAdder) {
+    public TagController(TagService tagService, HateoasAdder<TagDto> tagHateoasAdder,
+                         CursorPageAssembler cursorPageAssembler) {
         this.tagService = tagService;
         this.tagHateoasAdder = tagHateoasAdder;
+        this.cursorPageAssembler = cursorPageAssembler;
     }
 
     /**
@@ -61,6 +68,22 @@ public class TagController {
         return tagDtos;
     }
 
+    /**
+     * Method for getting keyset page of tags.
+     *
+     * @param after the cursor token of the previous page, empty for the first page
+     * @param size the size of page for pagination
+     * @return page of tags with hateoas and the link to the next page
+     */
+    @GetMapping(params = "after")
+    public CollectionModel<TagDto> readTagsAfter(@RequestParam("after") String after,
+                                                 @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
+        List<TagDto> tagDtos = tagService.readAllAfter(after, size);
+        tagDtos.forEach(tagHateoasAdder::addLinks);
+        return cursorPageAssembler.toModel(tagDtos, size, TagDto::getId,
+                next -> methodOn(TagController.class).readTagsAfter(next, size));
+    }
+
     /**
      * Method for saving new tag.
      *
@@ -75,6 +98,21 @@ public class TagController {
         return addedTag;
     }
 
+    /**
+     * Method for saving several tags at once. Existing tags are returned as they are,
+     * the missing ones are created with one batch.
+     *
+     * @param tagDtos the tags for saving
+     * @return the existing and created tags with hateoas
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TagDto> createTags(@RequestBody List<TagDto> tagDtos) {
+        List<TagDto> addedTags = tagService.createAll(tagDtos);
+        addedTags.forEach(tagHateoasAdder::addLinks);
+        return addedTags;
+    }
+
     /**
      * Method for removing tag by ID.
      *
@@ -1,27 +1,29 @@
 package com.epam.esm.controller;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.TokenExpiredException;
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.epam.esm.hateoas.CursorPageAssembler;
 import com.epam.esm.hateoas.HateoasAdder;
+import com.epam.esm.hateoas.LinkMode;
 import com.epam.esm.repository.dto.UserDto;
+import com.epam.esm.security.JwtTokenService;
 import com.epam.esm.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -40,15 +42,19 @@ public class UserController {
 
     private final UserService userService;
     private final HateoasAdder<UserDto> userHateoasAdder;
+    private final CursorPageAssembler cursorPageAssembler;
+    private final JwtTokenService jwtTokenService;
 
     @Autowired
-    public UserController(UserService userService, HateoasAdder<UserDto> userHateoasAdder) {
+    public UserController(UserService userService, HateoasAdder<UserDto> userHateoasAdder,
+                          CursorPageAssembler cursorPageAssembler, JwtTokenService jwtTokenService) {
         this.userService = userService;
         this.userHateoasAdder = userHateoasAdder;
+        this.cursorPageAssembler = cursorPageAssembler;
+        this.jwtTokenService = jwtTokenService;
     }
 
     private static final String ERROR_MESSAGE = "error_message";
-    private static final String JWT_SECRET = "secret";
     private static final String BEARER = "Bearer ";
     private static final long EXPIRATION_IN_MINUTES_ACCESS = 100;
 
@@ -70,28 +76,60 @@ public class UserController {
      *
      * @param page the number of page for pagination
      * @param size the size of page for pagination
+     * @param links the links mode, none to skip hateoas
      * @return List of found users with hateoas
      */
     @GetMapping
     public List<UserDto> readAll(@RequestParam(value = "page", defaultValue = "1", required = false) @Min(1) int page,
-                                  @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size) {
+                                  @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                  @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
         List<UserDto> userDtos = userService.readAll(page, size);
-        userDtos.forEach(userHateoasAdder::addLinks);
+        if (LinkMode.fromParameter(links).isEnabled()) {
+            userDtos.forEach(userHateoasAdder::addLinks);
+        }
         return userDtos;
     }
 
     /**
-     * Method for saving user to database.
+     * Method for getting keyset page of users.
+     *
+     * @param after the cursor token of the previous page, empty for the first page
+     * @param size the size of page for pagination
+     * @param links the links mode, none to skip hateoas of the items
+     * @return page of users with hateoas and the link to the next page
+     */
+    @GetMapping(params = "after")
+    public CollectionModel<UserDto> readAllAfter(@RequestParam("after") String after,
+                                                 @RequestParam(value = "size", defaultValue = "5", required = false) @Min(1) int size,
+                                                 @RequestParam(value = LinkMode.PARAMETER, required = false) String links) {
+        List<UserDto> userDtos = userService.readAllAfter(after, size);
+        if (LinkMode.fromParameter(links).isEnabled()) {
+            userDtos.forEach(userHateoasAdder::addLinks);
+        }
+        return cursorPageAssembler.toModel(userDtos, size, UserDto::getId,
+                next -> methodOn(UserController.class).readAllAfter(next, size, links));
+    }
+
+    /**
+     * Method for saving user to database. The password is hashed on the hashing pool,
+     * so the request thread is released until the user is saved.
      *
      * @param userDto user entity foor saving
      * @return created user with HATEOAS
      */
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public UserDto saveUser(@Valid @RequestBody UserDto userDto) {
-        UserDto savedUser = userService.saveUser(userDto);
-        userHateoasAdder.addLinks(savedUser);
-        return savedUser;
+    public CompletableFuture<UserDto> saveUser(@Valid @RequestBody UserDto userDto) {
+        RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
+        return userService.saveUser(userDto).thenApply(savedUser -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                userHateoasAdder.addLinks(savedUser);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+            return savedUser;
+        });
     }
 
 
@@ -108,17 +146,10 @@ public class UserController {
         if (authorizationHeader != null && authorizationHeader.startsWith(BEARER)) {
             try {
                 String refreshToken = authorizationHeader.substring(BEARER.length());
-                Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET.getBytes());
-                JWTVerifier verifier = JWT.require(algorithm).build();
-                DecodedJWT decodedJWT = verifier.verify(refreshToken);
-                String email = decodedJWT.getSubject();
+                String email = jwtTokenService.verify(refreshToken).getEmail();
                 UserDto user = userService.findByEmail(email);
-                String accessToken = JWT.create()
-                        .withSubject(email)
-                        .withExpiresAt(Date.from(LocalDateTime.now().plusMinutes(EXPIRATION_IN_MINUTES_ACCESS)
-                                .atZone(ZoneId.systemDefault()).toInstant()))
-                        .withClaim("roles", Collections.singletonList("ROLE_" + user.getRole().toString()))
-                        .sign(algorithm);
+                String accessToken = jwtTokenService.createAccessToken(email,
+                        Collections.singletonList("ROLE_" + user.getRole().toString()), EXPIRATION_IN_MINUTES_ACCESS);
                 Map<String, String> tokens = new HashMap<>();
                 tokens.put("accessToken", accessToken);
                 tokens.put("refreshToken", refreshToken);
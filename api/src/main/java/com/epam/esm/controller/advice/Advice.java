@@ -3,9 +3,11 @@ package com.epam.esm.controller.advice;
 
 import com.epam.esm.exception.PermissionException;
 import com.epam.esm.repository.entity.ErrorResponse;
+import com.epam.esm.repository.exception.PaginationException;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.ResourceNotFoundException;
 import com.epam.esm.service.exception.ResourceValidationException;
+import com.epam.esm.service.exception.ServiceOverloadException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +32,8 @@ import static org.springframework.http.HttpStatus.*;
 @ControllerAdvice
 public class Advice extends ResponseEntityExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /**
      * Customize the response for ResourceNotFoundException.
      *
@@ -137,6 +141,36 @@ public class Advice extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, BAD_REQUEST);
     }
 
+    /**
+     * Customize the response for PaginationException.
+     *
+     * @param e the exception
+     * @return {@code ResponseEntity} instance
+     */
+    @ExceptionHandler(value = {PaginationException.class})
+    public ResponseEntity<ErrorResponse> handlePaginationException(PaginationException e) {
+        String errorCode = String.format("%s%d", BAD_REQUEST.value(), 0);
+        ErrorResponse errorResponse =
+                new ErrorResponse(e.getMessage(), errorCode);
+        return new ResponseEntity<>(errorResponse, BAD_REQUEST);
+    }
+
+    /**
+     * Customize the response for ServiceOverloadException.
+     *
+     * @param e the exception
+     * @return {@code ResponseEntity} instance
+     */
+    @ExceptionHandler(value = {ServiceOverloadException.class})
+    public ResponseEntity<ErrorResponse> handleServiceOverloadException(ServiceOverloadException e) {
+        String errorCode = String.format("%s%d", TOO_MANY_REQUESTS.value(), 0);
+        ErrorResponse errorResponse =
+                new ErrorResponse(e.getMessage(), errorCode);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return new ResponseEntity<>(errorResponse, headers, TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(value = {PermissionException.class})
     public ResponseEntity<ErrorResponse> handlePermissionException(PermissionException e) {
         String errorCode = String.format("%s%s", FORBIDDEN.value(), 0);
@@ -1,8 +1,8 @@
 package com.epam.esm.filter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.epam.esm.exception.PermissionException;
+import com.epam.esm.security.JwtTokenService;
+import com.epam.esm.service.exception.ServiceOverloadException;
 import com.epam.esm.repository.dto.UserCredentialDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,25 +18,27 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.StringReader;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private static final long EXPIRATION_IN_MINUTES_ACCESS = 1;
     private static final long EXPIRATION_IN_MINUTES_REFRESH = 100;
-    private static final String JWT_SECRET = "secret";
+    private static final String ERROR_MESSAGE = "error_message";
+    private static final String RETRY_AFTER_SECONDS = "1";
 
     private final AuthenticationManager authenticationManager;
+    private final JwtTokenService jwtTokenService;
 
-    public CustomAuthenticationFilter(AuthenticationManager authenticationManager) {
+    public CustomAuthenticationFilter(AuthenticationManager authenticationManager, JwtTokenService jwtTokenService) {
         this.authenticationManager = authenticationManager;
+        this.jwtTokenService = jwtTokenService;
     }
 
     @Override
@@ -53,25 +55,35 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
         }
         UsernamePasswordAuthenticationToken authenticationToken =
                 new UsernamePasswordAuthenticationToken(userCredentialDto.getEmail(), userCredentialDto.getPassword());
-        return authenticationManager.authenticate(authenticationToken);
+        try {
+            return authenticationManager.authenticate(authenticationToken);
+        } catch (ServiceOverloadException e) {
+            writeOverloadResponse(response, e);
+            return null;
+        }
+    }
+
+    private void writeOverloadResponse(HttpServletResponse response, ServiceOverloadException e) {
+        response.setStatus(TOO_MANY_REQUESTS.value());
+        response.setHeader(RETRY_AFTER, RETRY_AFTER_SECONDS);
+        Map<String, String> error = new HashMap<>();
+        error.put(ERROR_MESSAGE, e.getMessage());
+        response.setContentType(APPLICATION_JSON_VALUE);
+        try {
+            new ObjectMapper().writeValue(response.getOutputStream(), error);
+        } catch (IOException ioException) {
+            throw new PermissionException("Can't write response");
+        }
     }
 
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                             FilterChain chain, Authentication authResult) throws IOException {
         User user = (User) authResult.getPrincipal();
-        Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET.getBytes());
-        String accessToken = JWT.create()
-                .withSubject(user.getUsername())
-                .withExpiresAt(Date.from(LocalDateTime.now().plusMinutes(EXPIRATION_IN_MINUTES_ACCESS)
-                        .atZone(ZoneId.systemDefault()).toInstant()))
-                .withClaim("roles", user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
-                .sign(algorithm);
-        String refreshToken = JWT.create()
-                .withSubject(user.getUsername())
-                .withExpiresAt(Date.from(LocalDateTime.now().plusMinutes(EXPIRATION_IN_MINUTES_REFRESH)
-                        .atZone(ZoneId.systemDefault()).toInstant()))
-                .sign(algorithm);
+        String accessToken = jwtTokenService.createAccessToken(user.getUsername(),
+                user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()),
+                EXPIRATION_IN_MINUTES_ACCESS);
+        String refreshToken = jwtTokenService.createRefreshToken(user.getUsername(), EXPIRATION_IN_MINUTES_REFRESH);
         Map<String, String> tokens = new HashMap<>();
         tokens.put("accessToken", accessToken);
         tokens.put("refreshToken", refreshToken);
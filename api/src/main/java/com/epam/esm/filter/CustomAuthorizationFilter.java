@@ -1,13 +1,12 @@
 package com.epam.esm.filter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.TokenExpiredException;
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.epam.esm.security.JwtPrincipal;
+import com.epam.esm.security.JwtTokenService;
+import com.epam.esm.security.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,12 +16,9 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
-import static java.util.Arrays.stream;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
@@ -31,10 +27,18 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @Component
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
-    private static final String JWT_SECRET = "secret";
     private static final String BEARER = "Bearer ";
     private static final String ERROR_MESSAGE = "error_message";
 
+    private final JwtTokenService jwtTokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    public CustomAuthorizationFilter(JwtTokenService jwtTokenService, VerifiedTokenCache verifiedTokenCache) {
+        this.jwtTokenService = jwtTokenService;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         if (request.getServletPath().equals("/users/token/refresh")) {
@@ -44,16 +48,12 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
             if (authorizationHeader != null && authorizationHeader.startsWith(BEARER)) {
                 try {
                     String token = authorizationHeader.substring(BEARER.length());
-                    Algorithm algorithm = Algorithm.HMAC256(JWT_SECRET.getBytes());
-                    JWTVerifier verifier = JWT.require(algorithm).build();
-                    DecodedJWT decodedJWT = verifier.verify(token);
-                    String email = decodedJWT.getSubject();
-                    String[] roles = decodedJWT.getClaim("roles").asArray(String.class);
-                    Collection<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    stream(roles).forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+                    JwtPrincipal principal = verifiedTokenCache.get(token, jwtTokenService::verify);
                     UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(email, null, authorities);
+                            new UsernamePasswordAuthenticationToken(principal.getEmail(), null,
+                                    principal.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, principal);
                     filterChain.doFilter(request, response);
                 } catch (TokenExpiredException e) {
                     response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\", " +
@@ -0,0 +1,44 @@
+package com.epam.esm.hateoas;
+
+import com.epam.esm.repository.entity.PageCursor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Class {@code CursorPageAssembler} wraps a keyset page into {@link CollectionModel}
+ * and adds the link to the next page when the page is full.
+ *
+ * @author Dmitry Poliukov
+ */
+@Component
+public class CursorPageAssembler {
+
+    /**
+     * Build page model.
+     *
+     * @param content the page content with hateoas
+     * @param size the requested size of page
+     * @param idExtractor the function returning id of the item
+     * @param nextPageInvocation the controller method invocation (via methodOn) for the given cursor token
+     * @param <T> the type of items
+     * @return page model with the next link
+     */
+    public <T extends RepresentationModel<T>> CollectionModel<T> toModel(List<T> content, int size,
+                                                                          ToIntFunction<T> idExtractor,
+                                                                          Function<String, Object> nextPageInvocation) {
+        CollectionModel<T> page = CollectionModel.of(content);
+        if (!content.isEmpty() && content.size() == size) {
+            String after = new PageCursor(idExtractor.applyAsInt(content.get(content.size() - 1))).encode();
+            page.add(linkTo(nextPageInvocation.apply(after)).withRel(IanaLinkRelations.NEXT));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.esm.hateoas;
+
+import com.epam.esm.service.exception.IncorrectParameterException;
+
+import java.util.Arrays;
+
+/**
+ * Enum {@code LinkMode} tells list endpoints whether to add hateoas links to the items.
+ * Requested by the {@code links} parameter, {@code ?links=none} gives the lean representation.
+ *
+ * @author Dmitry Poliukov
+ */
+public enum LinkMode {
+
+    ALL("all"),
+    NONE("none");
+
+    public static final String PARAMETER = "links";
+
+    private final String parameter;
+
+    LinkMode(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * Resolve mode from the request parameter.
+     *
+     * @param parameter the parameter value, may be null
+     * @return the mode, {@link #ALL} when the parameter is absent
+     * @throws IncorrectParameterException if the value is unknown
+     */
+    public static LinkMode fromParameter(String parameter) {
+        if (parameter == null) {
+            return ALL;
+        }
+        return Arrays.stream(values())
+                .filter(mode -> mode.parameter.equalsIgnoreCase(parameter.trim()))
+                .findFirst()
+                .orElseThrow(IncorrectParameterException.incorrect("Unknown links mode: " + parameter));
+    }
+
+    public boolean isEnabled() {
+        return this == ALL;
+    }
+}
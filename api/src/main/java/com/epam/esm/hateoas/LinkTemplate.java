@@ -0,0 +1,121 @@
+package com.epam.esm.hateoas;
+
+import org.springframework.hateoas.Link;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class {@code LinkTemplate} is a link to a controller method, resolved once from the method mappings
+ * and expanded with the path variables of each item.
+ * Unlike {@code linkTo(methodOn(...))} it creates no proxy and reads no annotations per link.
+ *
+ * @author Dmitry Poliukov
+ */
+public final class LinkTemplate {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+    private final String template;
+    private final String[] literals;
+
+    private LinkTemplate(String template) {
+        this.template = template;
+        this.literals = split(template);
+    }
+
+    /**
+     * Resolve template of controller method.
+     *
+     * @param controller     the controller class
+     * @param methodName     the name of handler method
+     * @param parameterTypes the parameter types of handler method
+     * @return the link template
+     * @throws IllegalArgumentException if there is no such method or it has no mapping
+     */
+    public static LinkTemplate of(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+        Method method = ReflectionUtils.findMethod(controller, methodName, parameterTypes);
+        if (method == null) {
+            throw new IllegalArgumentException("No method " + methodName + " in " + controller.getName());
+        }
+        RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        if (methodMapping == null) {
+            throw new IllegalArgumentException("No mapping of " + method);
+        }
+        String typePath = firstPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class));
+        String methodPath = firstPath(methodMapping);
+        if (methodPath.isEmpty()) {
+            return new LinkTemplate(typePath);
+        }
+        return new LinkTemplate((typePath + "/" + methodPath).replaceAll("/{2,}", "/"));
+    }
+
+    /**
+     * Build link with path variables substituted in order of their appearance.
+     *
+     * @param relation  the link relation
+     * @param variables the path variables
+     * @return the link
+     */
+    public Link expand(LinkRelation relation, Object... variables) {
+        if (variables.length != literals.length - 1) {
+            throw new IllegalArgumentException("Template " + template + " expects "
+                    + (literals.length - 1) + " variables");
+        }
+        StringBuilder href = new StringBuilder(baseUri()).append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            href.append(variables[i]).append(literals[i + 1]);
+        }
+        return Link.of(href.toString(), relation);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Base uri of the current request, built once per request and kept in its attributes.
+     */
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return "";
+        }
+        Object baseUri = attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (String) baseUri;
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+
+    private static String[] split(String template) {
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int open = template.indexOf('{');
+        while (open >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in " + template);
+            }
+            literals.add(template.substring(start, open));
+            start = close + 1;
+            open = template.indexOf('{', start);
+        }
+        literals.add(template.substring(start));
+        return literals.toArray(new String[0]);
+    }
+}
@@ -1,14 +1,13 @@
 package com.epam.esm.hateoas.impl;
 
 import com.epam.esm.controller.CertificateController;
-import com.epam.esm.controller.TagController;
 import com.epam.esm.hateoas.HateoasAdder;
+import com.epam.esm.hateoas.LinkTemplate;
 import com.epam.esm.repository.dto.CertificateDto;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 /**
  * Class {@code CertificateHateoasAdder} is implementation of interface {@link HateoasAdder}
  * and intended to work with {@link CertificateDto} objects.
@@ -18,15 +17,20 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @Component
 public class CertificateHateoasAdder implements HateoasAdder<CertificateDto> {
     private static final Class<CertificateController> CERTIFICATE_CONTROLLER = CertificateController.class;
+    private static final LinkTemplate READ =
+            LinkTemplate.of(CERTIFICATE_CONTROLLER, "readCertificate", int.class);
+    private static final LinkTemplate UPDATE =
+            LinkTemplate.of(CERTIFICATE_CONTROLLER, "updateCertificate", int.class, CertificateDto.class);
+    private static final LinkTemplate DELETE =
+            LinkTemplate.of(CERTIFICATE_CONTROLLER, "deleteCertificate", int.class);
+    private static final LinkTemplate CREATE =
+            LinkTemplate.of(CERTIFICATE_CONTROLLER, "createCertificate", CertificateDto.class);
 
     @Override
     public void addLinks(CertificateDto certificateDto) {
-        certificateDto.add(linkTo(methodOn(CERTIFICATE_CONTROLLER)
-                .readCertificate(certificateDto.getId())).withSelfRel());
-        certificateDto.add(linkTo(methodOn(CERTIFICATE_CONTROLLER)
-                .updateCertificate(certificateDto.getId(), certificateDto)).withRel("update"));
-        certificateDto.add(linkTo(methodOn(CERTIFICATE_CONTROLLER)
-                .deleteCertificate(certificateDto.getId())).withRel("delete"));
-        certificateDto.add(linkTo(methodOn(CERTIFICATE_CONTROLLER).createCertificate(certificateDto)).withRel("new"));
+        certificateDto.add(READ.expand(IanaLinkRelations.SELF, certificateDto.getId()));
+        certificateDto.add(UPDATE.expand(LinkRelation.of("update"), certificateDto.getId()));
+        certificateDto.add(DELETE.expand(LinkRelation.of("delete"), certificateDto.getId()));
+        certificateDto.add(CREATE.expand(LinkRelation.of("new")));
     }
 }
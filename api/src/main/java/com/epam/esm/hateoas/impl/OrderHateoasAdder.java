@@ -2,13 +2,12 @@ package com.epam.esm.hateoas.impl;
 
 import com.epam.esm.controller.OrderController;
 import com.epam.esm.hateoas.HateoasAdder;
-import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.hateoas.LinkTemplate;
 import com.epam.esm.repository.dto.OrderDto;
+import com.epam.esm.security.JwtPrincipal;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 /**
  * Class {@code OrderHateoasAdder} is implementation of interface {@link HateoasAdder}
  * and intended to work with {@link OrderDto} objects.
@@ -19,8 +18,11 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class OrderHateoasAdder implements HateoasAdder<OrderDto> {
 
     private static final Class<OrderController> CONTROLLER = OrderController.class;
+    private static final LinkTemplate CREATE =
+            LinkTemplate.of(CONTROLLER, "createOrder", JwtPrincipal.class, OrderDto.class);
+
     @Override
     public void addLinks(OrderDto orderDto) {
-        orderDto.add(linkTo(methodOn(CONTROLLER).createOrder(null, orderDto)).withRel("new"));
+        orderDto.add(CREATE.expand(LinkRelation.of("new")));
     }
 }
@@ -2,12 +2,12 @@ package com.epam.esm.hateoas.impl;
 
 import com.epam.esm.controller.TagController;
 import com.epam.esm.hateoas.HateoasAdder;
+import com.epam.esm.hateoas.LinkTemplate;
 import com.epam.esm.repository.dto.TagDto;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 /**
  * Class {@code TagHateoasAdder} is implementation of interface {@link HateoasAdder}
  * and intended to work with {@link TagDto} objects.
@@ -18,11 +18,14 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class TagHateoasAdder implements HateoasAdder<TagDto> {
 
     private static final Class<TagController> TAG_CONTROLLER = TagController.class;
+    private static final LinkTemplate READ = LinkTemplate.of(TAG_CONTROLLER, "readTag", int.class);
+    private static final LinkTemplate DELETE = LinkTemplate.of(TAG_CONTROLLER, "deleteTag", int.class);
+    private static final LinkTemplate CREATE = LinkTemplate.of(TAG_CONTROLLER, "createTag", TagDto.class);
 
     @Override
     public void addLinks(TagDto tagDto) {
-        tagDto.add(linkTo(methodOn(TAG_CONTROLLER).readTag(tagDto.getId())).withSelfRel());
-        tagDto.add(linkTo(methodOn(TAG_CONTROLLER).deleteTag(tagDto.getId())).withRel("delete"));
-        tagDto.add(linkTo(methodOn(TAG_CONTROLLER).createTag(tagDto)).withRel("create"));
+        tagDto.add(READ.expand(IanaLinkRelations.SELF, tagDto.getId()));
+        tagDto.add(DELETE.expand(LinkRelation.of("delete"), tagDto.getId()));
+        tagDto.add(CREATE.expand(LinkRelation.of("create")));
     }
 }
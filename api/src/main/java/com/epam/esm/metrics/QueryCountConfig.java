@@ -0,0 +1,34 @@
+package com.epam.esm.metrics;
+
+import com.epam.esm.repository.metrics.QueryCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    @Autowired
+    public QueryCountConfig(QueryCountInterceptor queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor);
+    }
+
+    /**
+     * Applied by Spring Boot to the application task executor, which also runs async MVC handlers,
+     * so their statements count for the request that started them.
+     */
+    @Bean
+    public TaskDecorator queryCountTaskDecorator() {
+        return QueryCounter::propagate;
+    }
+}
@@ -0,0 +1,43 @@
+package com.epam.esm.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code X-Query-Count} header while the response isn't committed yet.
+ * Statements run later, such as lazy loading during serialization, are only counted in the metric.
+ */
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryCountInterceptor queryCountInterceptor;
+
+    @Autowired
+    public QueryCountHeaderAdvice(QueryCountInterceptor queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.getMethod() != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            int count = queryCountInterceptor.checkBeforeBody(
+                    ((ServletServerHttpRequest) request).getServletRequest(), returnType.getMethod());
+            response.getHeaders().set(QueryCountInterceptor.QUERY_COUNT_HEADER, String.valueOf(count));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,143 @@
+package com.epam.esm.metrics;
+
+import com.epam.esm.exception.QueryBudgetExceededException;
+import com.epam.esm.repository.metrics.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statements run by each controller method and checks them against a budget.
+ * The budget of a method is {@code query.budget.<Controller>.<method>}, falling back to
+ * {@code query.budget.default}. Over budget a warning is logged, or in strict mode
+ * the request fails before its body is written, so tests catch N+1 queries.
+ * An asynchronous request keeps its counter from the handler to the async dispatch, and tasks
+ * of the application executor count on the counter of the request that submitted them.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERIES_METRIC = "http.server.requests.queries";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCountInterceptor.class);
+    private static final String BUDGET_PROPERTY_PREFIX = "query.budget.";
+    private static final String BUDGET_CHECKED_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".checked";
+    private static final String COUNTER_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final int defaultBudget;
+    private final boolean strict;
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryCountInterceptor(MeterRegistry meterRegistry, Environment environment,
+                                 @Value("${query.budget.default:20}") int defaultBudget,
+                                 @Value("${query.budget.strict:false}") boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.defaultBudget = defaultBudget;
+        this.strict = strict;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            QueryCounter.reset();
+        } else {
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+            QueryCounter.attach(counter);
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the counter in the request until the async dispatch, which may run on another thread.
+     * Neither postHandle nor afterCompletion are called for this dispatch.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        AtomicInteger counter = QueryCounter.detach();
+        if (counter != null) {
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+    }
+
+    /**
+     * Covers handlers without a response body, which {@link QueryCountHeaderAdvice} doesn't see.
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (!response.isCommitted() && !response.containsHeader(QUERY_COUNT_HEADER)) {
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(QueryCounter.count()));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        try {
+            if (handler instanceof HandlerMethod) {
+                Method method = ((HandlerMethod) handler).getMethod();
+                int count = QueryCounter.count();
+                DistributionSummary.builder(QUERIES_METRIC)
+                        .description("SQL statements per request")
+                        .baseUnit("statements")
+                        .tag("handler", handlerName(method))
+                        .register(meterRegistry)
+                        .record(count);
+                int budget = budget(method);
+                if (count > budget) {
+                    LOGGER.warn("{} ran {} SQL statements, budget is {}", handlerName(method), count, budget);
+                }
+            }
+        } finally {
+            QueryCounter.clear();
+        }
+    }
+
+    /**
+     * Check the statements counted so far, before the body of the request is written.
+     *
+     * @param request the request
+     * @param method  the handler method
+     * @return the number of statements
+     */
+    int checkBeforeBody(HttpServletRequest request, Method method) {
+        int count = QueryCounter.count();
+        if (strict && count > budget(method) && request.getAttribute(BUDGET_CHECKED_ATTRIBUTE) == null) {
+            request.setAttribute(BUDGET_CHECKED_ATTRIBUTE, Boolean.TRUE);
+            throw new QueryBudgetExceededException(String.format("%s ran %d SQL statements, budget is %d",
+                    handlerName(method), count, budget(method)));
+        }
+        return count;
+    }
+
+    private int budget(Method method) {
+        return budgets.computeIfAbsent(method, key -> environment.getProperty(
+                BUDGET_PROPERTY_PREFIX + handlerName(key), Integer.class, defaultBudget));
+    }
+
+    private static String handlerName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
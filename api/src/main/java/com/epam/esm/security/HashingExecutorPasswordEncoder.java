@@ -0,0 +1,50 @@
+package com.epam.esm.security;
+
+import com.epam.esm.service.security.PasswordHashingService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Class {@code HashingExecutorPasswordEncoder} is the {@link PasswordEncoder} of the login,
+ * which runs BCrypt on the bounded pool of {@link PasswordHashingService}.
+ * The caller waits for the result, but the number of concurrent hashes is limited
+ * and the excess logins fail fast with {@link com.epam.esm.service.exception.ServiceOverloadException}.
+ *
+ * @author Dmitry Poliukov
+ */
+public class HashingExecutorPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordHashingService passwordHashingService;
+
+    public HashingExecutorPasswordEncoder(PasswordHashingService passwordHashingService) {
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return join(passwordHashingService.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return join(passwordHashingService.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordHashingService.upgradeEncoding(encodedPassword);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.epam.esm.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class {@code JwtPrincipal} is the verified content of a token.
+ * {@link com.epam.esm.filter.CustomAuthorizationFilter} puts it on the request
+ * under {@link #REQUEST_ATTRIBUTE}, so controllers don't verify the token again.
+ *
+ * @author Dmitry Poliukov
+ */
+public class JwtPrincipal {
+
+    public static final String REQUEST_ATTRIBUTE = "jwtPrincipal";
+
+    private final String email;
+    private final List<String> roles;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String email, List<String> roles, Instant expiresAt) {
+        this.email = email;
+        this.roles = roles;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Collection<SimpleGrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("JwtPrincipal{");
+        sb.append("email='").append(email).append('\'');
+        sb.append(", roles=").append(roles);
+        sb.append(", expiresAt=").append(expiresAt);
+        sb.append('}');
+        return sb.toString();
+    }
+}
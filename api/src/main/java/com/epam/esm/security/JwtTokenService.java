@@ -0,0 +1,88 @@
+package com.epam.esm.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Class {@code JwtTokenService} signs and verifies tokens.
+ * The algorithm and the verifier are immutable, so one instance is shared by all requests.
+ *
+ * @author Dmitry Poliukov
+ */
+@Component
+public class JwtTokenService {
+
+    private static final String ROLES_CLAIM = "roles";
+
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+
+    @Autowired
+    public JwtTokenService(@Value("${jwt.secret:secret}") String secret) {
+        this.algorithm = Algorithm.HMAC256(secret.getBytes());
+        this.verifier = JWT.require(algorithm).build();
+    }
+
+    /**
+     * Verify token.
+     *
+     * @param token the token without bearer prefix
+     * @return the principal from the token
+     * @throws JWTVerificationException if the token is invalid or expired
+     */
+    public JwtPrincipal verify(String token) {
+        DecodedJWT decodedJWT = verifier.verify(token);
+        List<String> roles = decodedJWT.getClaim(ROLES_CLAIM).asList(String.class);
+        Date expiresAt = decodedJWT.getExpiresAt();
+        return new JwtPrincipal(decodedJWT.getSubject(),
+                roles == null ? Collections.emptyList() : roles,
+                expiresAt == null ? null : expiresAt.toInstant());
+    }
+
+    /**
+     * Create access token.
+     *
+     * @param email the email of user
+     * @param roles the roles of user
+     * @param expirationInMinutes the lifetime of token
+     * @return the signed token
+     */
+    public String createAccessToken(String email, List<String> roles, long expirationInMinutes) {
+        return JWT.create()
+                .withSubject(email)
+                .withExpiresAt(expiresAt(expirationInMinutes))
+                .withClaim(ROLES_CLAIM, roles)
+                .sign(algorithm);
+    }
+
+    /**
+     * Create refresh token.
+     *
+     * @param email the email of user
+     * @param expirationInMinutes the lifetime of token
+     * @return the signed token
+     */
+    public String createRefreshToken(String email, long expirationInMinutes) {
+        return JWT.create()
+                .withSubject(email)
+                .withExpiresAt(expiresAt(expirationInMinutes))
+                .sign(algorithm);
+    }
+
+    private static Date expiresAt(long expirationInMinutes) {
+        return Date.from(LocalDateTime.now().plusMinutes(expirationInMinutes)
+                .atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -3,6 +3,7 @@ package com.epam.esm.security;
 import com.epam.esm.filter.CustomAuthenticationFilter;
 import com.epam.esm.filter.CustomAuthorizationFilter;
 import com.epam.esm.service.impl.UserDetailsServiceImpl;
+import com.epam.esm.service.security.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,15 +28,20 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private static final String USER = "USER";
     private final CustomAuthorizationFilter customAuthorizationFilter;
     private final UserDetailsServiceImpl userDetailsService;
+    private final JwtTokenService jwtTokenService;
+    private final PasswordHashingService passwordHashingService;
 
     @Autowired
-    public SecurityConfig(CustomAuthorizationFilter customAuthorizationFilter, UserDetailsServiceImpl userDetailsService) {
+    public SecurityConfig(CustomAuthorizationFilter customAuthorizationFilter, UserDetailsServiceImpl userDetailsService,
+                          JwtTokenService jwtTokenService, PasswordHashingService passwordHashingService) {
         this.customAuthorizationFilter = customAuthorizationFilter;
         this.userDetailsService = userDetailsService;
+        this.jwtTokenService = jwtTokenService;
+        this.passwordHashingService = passwordHashingService;
     }
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
+    public static BCryptPasswordEncoder bCryptPasswordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
@@ -49,12 +55,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf().disable();
         http.sessionManagement().sessionCreationPolicy(STATELESS);
+        // The export holds a pooled connection and a cursor until the stream ends
+        http.authorizeRequests().antMatchers(GET, "/certificates/export").hasRole(ADMIN);
         http.authorizeRequests().antMatchers(GET, "/certificates/**", "/users/token/refresh").permitAll()
                 .antMatchers(POST, "/users/register", "/users/auth", "/login").permitAll();
         http.authorizeRequests().antMatchers(POST, "/orders").hasRole(USER)
                 .antMatchers(GET, "/tags/**", "/users/**", "/orders/**").hasRole(USER);
         http.authorizeRequests().anyRequest().hasRole(ADMIN);
-        http.addFilter(new CustomAuthenticationFilter(authenticationManagerBean()));
+        http.addFilter(new CustomAuthenticationFilter(authenticationManagerBean(), jwtTokenService));
         http.addFilterBefore(customAuthorizationFilter, UsernamePasswordAuthenticationFilter.class);
         http.exceptionHandling().authenticationEntryPoint(new RestAuthenticationEntryPoint());
         http.exceptionHandling().accessDeniedHandler(new CustomAccessDeniedHandler());
@@ -62,7 +70,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsService).passwordEncoder(bCryptPasswordEncoder());
+        auth.userDetailsService(userDetailsService).passwordEncoder(new HashingExecutorPasswordEncoder(passwordHashingService));
     }
 
 
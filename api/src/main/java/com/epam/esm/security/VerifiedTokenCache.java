@@ -0,0 +1,97 @@
+package com.epam.esm.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Class {@code VerifiedTokenCache} keeps principals of already verified tokens until the tokens expire,
+ * so a reused access token is verified once instead of on every request.
+ * Tokens are keyed by their SHA-256 hash, the raw tokens are not kept in memory.
+ *
+ * @author Dmitry Poliukov
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "jwt.verified";
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final boolean enabled;
+    private final Cache<String, JwtPrincipal> principals;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Read principal of verified token or verify the token.
+     *
+     * @param token the token without bearer prefix
+     * @param verifier the verifier of not cached token
+     * @return the principal from the token
+     */
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return principals.get(hash(token), key -> verifier.apply(token));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principals, CACHE_NAME);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static final class ExpireAtTokenExpiration implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            if (principal.getExpiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), principal.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.epam.esm.metrics;
+
+import com.epam.esm.exception.QueryBudgetExceededException;
+import com.epam.esm.repository.metrics.QueryCountInspector;
+import com.epam.esm.repository.metrics.QueryCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountInterceptorTest {
+
+    private static final String SQL = "select 1";
+    private static final int DEFAULT_BUDGET = 2;
+    private static final String HANDLER_NAME = "TestController.readAll";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("query.budget." + HANDLER_NAME, "3");
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final HandlerMethod readAll = handlerMethod("readAll");
+    private final HandlerMethod delete = handlerMethod("delete");
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.clear();
+    }
+
+    @Test
+    void afterCompletionRecordsMetric() {
+        QueryCountInterceptor interceptor = interceptor(false);
+
+        interceptor.preHandle(request, response, readAll);
+        runStatements(2);
+        interceptor.afterCompletion(request, response, readAll, null);
+
+        DistributionSummary summary = meterRegistry.get(QueryCountInterceptor.QUERIES_METRIC)
+                .tag("handler", HANDLER_NAME).summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertEquals(0, QueryCounter.count());
+    }
+
+    @Test
+    void preHandleResetsCount() {
+        QueryCountInterceptor interceptor = interceptor(false);
+        QueryCounter.reset();
+        runStatements(1);
+
+        interceptor.preHandle(request, response, readAll);
+
+        assertEquals(0, QueryCounter.count());
+    }
+
+    @Test
+    void postHandleSetsHeaderWithoutBody() {
+        QueryCountInterceptor interceptor = interceptor(false);
+
+        interceptor.preHandle(request, response, delete);
+        runStatements(1);
+        interceptor.postHandle(request, response, delete, null);
+
+        assertEquals("1", response.getHeader(QueryCountInterceptor.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void headerAdviceSetsHeaderBeforeBody() throws IOException {
+        QueryCountInterceptor interceptor = interceptor(false);
+        QueryCountHeaderAdvice advice = new QueryCountHeaderAdvice(interceptor);
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+
+        interceptor.preHandle(request, response, readAll);
+        runStatements(2);
+        advice.beforeBodyWrite(null, readAll.getReturnType(), MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(request), serverResponse);
+        serverResponse.flush();
+
+        assertEquals("2", response.getHeader(QueryCountInterceptor.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void checkBeforeBodyOverBudgetWhenNotStrict() {
+        QueryCountInterceptor interceptor = interceptor(false);
+
+        interceptor.preHandle(request, response, delete);
+        runStatements(DEFAULT_BUDGET + 1);
+
+        assertEquals(DEFAULT_BUDGET + 1, interceptor.checkBeforeBody(request, delete.getMethod()));
+    }
+
+    @Test
+    void checkBeforeBodyOverBudgetWhenStrict() {
+        QueryCountInterceptor interceptor = interceptor(true);
+
+        interceptor.preHandle(request, response, delete);
+        runStatements(DEFAULT_BUDGET + 1);
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> interceptor.checkBeforeBody(request, delete.getMethod()));
+        assertEquals(DEFAULT_BUDGET + 1, interceptor.checkBeforeBody(request, delete.getMethod()));
+    }
+
+    @Test
+    void checkBeforeBodyUsesHandlerBudgetWhenStrict() {
+        QueryCountInterceptor interceptor = interceptor(true);
+
+        interceptor.preHandle(request, response, readAll);
+        runStatements(3);
+
+        assertEquals(3, interceptor.checkBeforeBody(request, readAll.getMethod()));
+        runStatements(1);
+        assertThrows(QueryBudgetExceededException.class,
+                () -> interceptor.checkBeforeBody(request, readAll.getMethod()));
+    }
+
+    @Test
+    void asyncRequestCountsStatementsOfAllThreads() {
+        QueryCountInterceptor interceptor = interceptor(false);
+        QueryCountConfig config = new QueryCountConfig(interceptor);
+
+        interceptor.preHandle(request, response, readAll);
+        runStatements(1);
+        CompletableFuture<Void> task = CompletableFuture.runAsync(
+                config.queryCountTaskDecorator().decorate(() -> runStatements(2)));
+        interceptor.afterConcurrentHandlingStarted(request, response, readAll);
+        task.join();
+        CompletableFuture.runAsync(() -> {
+            interceptor.preHandle(request, response, readAll);
+            interceptor.afterCompletion(request, response, readAll, null);
+        }).join();
+
+        assertEquals(0, QueryCounter.count());
+        assertEquals(3, meterRegistry.get(QueryCountInterceptor.QUERIES_METRIC)
+                .tag("handler", HANDLER_NAME).summary().totalAmount());
+    }
+
+    private QueryCountInterceptor interceptor(boolean strict) {
+        return new QueryCountInterceptor(meterRegistry, environment, DEFAULT_BUDGET, strict);
+    }
+
+    private void runStatements(int number) {
+        for (int i = 0; i < number; i++) {
+            inspector.inspect(SQL);
+        }
+    }
+
+    private static HandlerMethod handlerMethod(String name) {
+        try {
+            return new HandlerMethod(new TestController(), TestController.class.getMethod(name));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class TestController {
+
+        public String readAll() {
+            return "";
+        }
+
+        public void delete() {
+        }
+    }
+}
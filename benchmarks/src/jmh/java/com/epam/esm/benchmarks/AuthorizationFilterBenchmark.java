@@ -0,0 +1,71 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.filter.CustomAuthorizationFilter;
+import com.epam.esm.security.JwtPrincipal;
+import com.epam.esm.security.JwtTokenService;
+import com.epam.esm.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Cost of {@link CustomAuthorizationFilter} per request for a reused access token,
+ * with and without {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorizationFilterBenchmark {
+
+    private static final String SECRET = "secret";
+    private static final long EXPIRATION_IN_MINUTES = 100;
+    private static final long CACHE_SIZE = 10_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private CustomAuthorizationFilter cachedFilter;
+    private CustomAuthorizationFilter uncachedFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenService jwtTokenService = new JwtTokenService(SECRET);
+        cachedFilter = new CustomAuthorizationFilter(jwtTokenService, new VerifiedTokenCache(true, CACHE_SIZE));
+        uncachedFilter = new CustomAuthorizationFilter(jwtTokenService, new VerifiedTokenCache(false, CACHE_SIZE));
+        authorizationHeader = "Bearer " + jwtTokenService.createAccessToken("user@mail.com",
+                Collections.singletonList("ROLE_USER"), EXPIRATION_IN_MINUTES);
+    }
+
+    @Benchmark
+    public void filterWithCache(Blackhole blackhole) throws ServletException, IOException {
+        blackhole.consume(filter(cachedFilter));
+    }
+
+    @Benchmark
+    public void filterWithoutCache(Blackhole blackhole) throws ServletException, IOException {
+        blackhole.consume(filter(uncachedFilter));
+    }
+
+    private Object filter(CustomAuthorizationFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tags");
+        request.addHeader(AUTHORIZATION, authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+    }
+}
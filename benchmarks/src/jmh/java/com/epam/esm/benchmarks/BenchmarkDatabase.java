@@ -0,0 +1,116 @@
+package com.epam.esm.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Repository context on an in-memory H2 database in MySQL mode, seeded with a fixed dataset.
+ * Settings are passed as command line arguments, so they win over the MySQL
+ * {@code application.properties} of the repository module.
+ */
+public final class BenchmarkDatabase {
+
+    public static final int TAGS = 100;
+    public static final int TAGS_PER_CERTIFICATE = 3;
+
+    private static final String[] WORDS = {"spa", "massage", "dinner", "weekend", "flight", "yoga", "museum",
+            "concert", "karting", "diving", "cooking", "wine", "tasting", "horse", "riding", "balloon"};
+    private static final int WORDS_PER_DESCRIPTION = 6;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SQL_INSERT_TAG = "INSERT INTO tag (id, name) VALUES (?, ?)";
+    private static final String SQL_INSERT_CERTIFICATE = "INSERT INTO gift_certificate " +
+            "(id, name, description, price, duration, create_date, last_update_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_BONDING_TAG =
+            "INSERT INTO gift_certificate_m2m_tag (gift_certificate_id, tag_id) VALUES (?, ?)";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Start the repository context and seed it.
+     *
+     * @param certificates the number of certificates
+     * @return the started context
+     */
+    public static ConfigurableApplicationContext start(int certificates) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RepositoryApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class), certificates);
+        return context;
+    }
+
+    public static String tagName(int id) {
+        return "tag" + id;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int certificates) {
+        List<Object[]> tags = new ArrayList<>();
+        for (int id = 1; id <= TAGS; id++) {
+            tags.add(new Object[]{id, tagName(id)});
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT_TAG, tags);
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2021, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> bondingTags = new ArrayList<>(BATCH_SIZE * TAGS_PER_CERTIFICATE);
+        for (int id = 1; id <= certificates; id++) {
+            Timestamp date = Timestamp.valueOf(start.plusMinutes(random.nextInt(525_600)));
+            rows.add(new Object[]{id, words(random, 2) + " " + id, words(random, WORDS_PER_DESCRIPTION),
+                    1 + random.nextInt(10_000) / 100.0, 1 + random.nextInt(365), date, date});
+            Set<Integer> tagIds = new LinkedHashSet<>();
+            while (tagIds.size() < TAGS_PER_CERTIFICATE) {
+                tagIds.add(1 + random.nextInt(TAGS));
+            }
+            for (Integer tagId : tagIds) {
+                bondingTags.add(new Object[]{id, tagId});
+            }
+            if (rows.size() == BATCH_SIZE || id == certificates) {
+                jdbcTemplate.batchUpdate(SQL_INSERT_CERTIFICATE, rows);
+                jdbcTemplate.batchUpdate(SQL_INSERT_BONDING_TAG, bondingTags);
+                rows.clear();
+                bondingTags.clear();
+            }
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    @SpringBootApplication(scanBasePackages = "com.epam.esm.repository")
+    @EntityScan("com.epam.esm.repository.entity")
+    static class RepositoryApplication {
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link CertificateDao} against the seeded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CertificateDaoBenchmark {
+
+    private static final int SIZE = 20;
+    private static final List<CertificateSort> SORTS = Arrays.asList(
+            new CertificateSort(CertificateSort.Field.NAME, false),
+            new CertificateSort(CertificateSort.Field.DATE, true));
+    private static final List<String> TAG_NAMES = Arrays.asList(BenchmarkDatabase.tagName(1),
+            BenchmarkDatabase.tagName(2));
+
+    @Param({"10000"})
+    private int certificates;
+
+    private ConfigurableApplicationContext context;
+    private CertificateDao certificateDao;
+    private int middlePage;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start(certificates);
+        certificateDao = context.getBean(CertificateDao.class);
+        middlePage = certificates / SIZE / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Certificate> readAllFirstPage() {
+        return certificateDao.readAll(1, SIZE);
+    }
+
+    @Benchmark
+    public List<Certificate> readAllMiddlePage() {
+        return certificateDao.readAll(middlePage, SIZE);
+    }
+
+    @Benchmark
+    public List<Certificate> readCertificateWithParams() {
+        return certificateDao.readCertificateWithParams(BenchmarkDatabase.tagName(7), "balloon", null, SORTS,
+                1, SIZE);
+    }
+
+    @Benchmark
+    public List<Certificate> readCertificatesByTagNames() {
+        return certificateDao.readCertificatesByTagNames(TAG_NAMES, 1, SIZE);
+    }
+}
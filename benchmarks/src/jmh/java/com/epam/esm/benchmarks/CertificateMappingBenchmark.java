@@ -0,0 +1,105 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.controller.CertificateController;
+import com.epam.esm.controller.TagController;
+import com.epam.esm.hateoas.impl.CertificateHateoasAdder;
+import com.epam.esm.hateoas.impl.TagHateoasAdder;
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.dto.TagDto;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Per-certificate cost of mapping to dto and of adding HATEOAS links, as done by
+ * {@code CertificateController} for every certificate of a page.
+ * Links built from precompiled templates are compared with links built via {@code methodOn} proxies,
+ * which is how the adders built them before.
+ * The state is per thread, because links are built from the request bound to the thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CertificateMappingBenchmark {
+
+    private static final int TAGS = 3;
+
+    private final CertificateHateoasAdder certificateHateoasAdder = new CertificateHateoasAdder();
+    private final TagHateoasAdder tagHateoasAdder = new TagHateoasAdder();
+    private Certificate certificate;
+
+    @Setup
+    public void setUp() {
+        List<Tag> tags = new ArrayList<>();
+        for (int id = 1; id <= TAGS; id++) {
+            tags.add(new Tag(id, BenchmarkDatabase.tagName(id)));
+        }
+        LocalDateTime date = LocalDateTime.of(2021, 1, 1, 0, 0);
+        certificate = new Certificate(1, "spa weekend 1", "massage dinner yoga wine tasting balloon",
+                99.99, 30, date, date, tags);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lab03/certificates");
+        request.setContextPath("/lab03");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CertificateDto toDto() {
+        return certificate.toDto();
+    }
+
+    /**
+     * Includes {@link #toDto()}, since links can only be added once to a dto.
+     */
+    @Benchmark
+    public CertificateDto toDtoWithLinks() {
+        CertificateDto certificateDto = certificate.toDto();
+        certificateDto.getTagsDto().forEach(tagHateoasAdder::addLinks);
+        certificateHateoasAdder.addLinks(certificateDto);
+        return certificateDto;
+    }
+
+    /**
+     * Same links as {@link #toDtoWithLinks()}, built via {@code linkTo(methodOn(...))}.
+     */
+    @Benchmark
+    public CertificateDto toDtoWithMethodOnLinks() {
+        CertificateDto certificateDto = certificate.toDto();
+        for (TagDto tagDto : certificateDto.getTagsDto()) {
+            tagDto.add(linkTo(methodOn(TagController.class).readTag(tagDto.getId())).withSelfRel());
+            tagDto.add(linkTo(methodOn(TagController.class).deleteTag(tagDto.getId())).withRel("delete"));
+            tagDto.add(linkTo(methodOn(TagController.class).createTag(tagDto)).withRel("create"));
+        }
+        certificateDto.add(linkTo(methodOn(CertificateController.class)
+                .readCertificate(certificateDto.getId())).withSelfRel());
+        certificateDto.add(linkTo(methodOn(CertificateController.class)
+                .updateCertificate(certificateDto.getId(), certificateDto)).withRel("update"));
+        certificateDto.add(linkTo(methodOn(CertificateController.class)
+                .deleteCertificate(certificateDto.getId())).withRel("delete"));
+        certificateDto.add(linkTo(methodOn(CertificateController.class)
+                .createCertificate(certificateDto)).withRel("new"));
+        return certificateDto;
+    }
+}
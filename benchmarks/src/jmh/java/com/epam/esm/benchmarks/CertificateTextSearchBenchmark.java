@@ -0,0 +1,100 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.service.search.CertificateTextIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Substring search over certificate names and descriptions through {@link CertificateTextIndex},
+ * against a scan testing every row, which is what {@code LIKE '%part%'} does in the search procedure.
+ * The procedure itself needs MySQL, so the scan runs over the same rows in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CertificateTextSearchBenchmark {
+
+    private static final String[] WORDS = {"spa", "massage", "dinner", "weekend", "flight", "yoga", "museum",
+            "concert", "karting", "diving", "cooking", "wine", "tasting", "horse", "riding", "balloon"};
+    private static final int WORDS_PER_DESCRIPTION = 12;
+
+    @Param({"10000", "100000"})
+    private int certificates;
+
+    @Param({"balloon rid", "karting"})
+    private String part;
+
+    private CertificateTextIndex index;
+    private List<String[]> rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Certificate> generated = new ArrayList<>(certificates);
+        rows = new ArrayList<>(certificates);
+        for (int id = 1; id <= certificates; id++) {
+            String name = words(random, 2);
+            String description = words(random, WORDS_PER_DESCRIPTION);
+            generated.add(new Certificate(id, name, description, 1.0, 1, null, null, Collections.emptyList()));
+            rows.add(new String[]{name.toLowerCase(Locale.ROOT), description.toLowerCase(Locale.ROOT)});
+        }
+        CertificateDao certificateDao = Mockito.mock(CertificateDao.class);
+        doAnswer(invocation -> {
+            Consumer<List<Certificate>> consumer = invocation.getArgument(1);
+            consumer.accept(generated);
+            return null;
+        }).when(certificateDao).readAllInBatches(anyInt(), any());
+        index = new CertificateTextIndex(certificateDao);
+        index.build();
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public List<Integer> index() {
+        return index.search(part).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Integer> linearScan() {
+        String normalized = part.toLowerCase(Locale.ROOT);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            if (row[0].contains(normalized) || row[1].contains(normalized)) {
+                ids.add(i + 1);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,192 @@
+package com.epam.esm.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load test of a running application: {@code load.concurrency} clients send requests
+ * back to back, first during the warmup, then during the measured duration, and throughput and
+ * latency percentiles are printed per scenario.
+ * To compare the execution modes, run it against the application started with and without
+ * the {@code virtual-threads} profile, on the same database. Settings are system properties:
+ * <ul>
+ *     <li>{@code load.base-url}, default http://localhost:8080/lab03</li>
+ *     <li>{@code load.concurrency}, default 200</li>
+ *     <li>{@code load.warmup} and {@code load.duration}, ISO-8601 durations, default PT10S and PT30S</li>
+ *     <li>{@code load.scenarios}, comma separated from search and orders, default both</li>
+ *     <li>{@code load.email}, {@code load.password}, {@code load.user-id} and {@code load.certificate-id},
+ *     the user who places orders and the ordered certificate</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    private static final String SEARCH = "search";
+    private static final String ORDERS = "orders";
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    private LoadTest(String baseUrl, int concurrency, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(
+                System.getProperty("load.base-url", "http://localhost:8080/lab03"),
+                Integer.getInteger("load.concurrency", 200),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")));
+        List<String> scenarios = Arrays.asList(System.getProperty("load.scenarios", SEARCH + "," + ORDERS).split(","));
+        if (scenarios.contains(SEARCH)) {
+            loadTest.run(SEARCH, loadTest.searchRequest());
+        }
+        if (scenarios.contains(ORDERS)) {
+            loadTest.run(ORDERS, loadTest.orderRequest(
+                    System.getProperty("load.email", "user1@mail.com"),
+                    System.getProperty("load.password", "password"),
+                    Integer.getInteger("load.user-id", 1),
+                    Integer.getInteger("load.certificate-id", 1)));
+        }
+        System.exit(0);
+    }
+
+    private Supplier<HttpRequest> searchRequest() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl
+                        + "/certificates/search?descriptionOrNamePart=spa&sort=date,desc&sort=name&size=20&links=none"))
+                .GET()
+                .build();
+        return () -> request;
+    }
+
+    private Supplier<HttpRequest> orderRequest(String email, String password, int userId, int certificateId)
+            throws IOException, InterruptedException {
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("email", email)
+                .put("password", password);
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + login.statusCode() + ": " + login.body());
+        }
+        JsonNode tokens = objectMapper.readTree(login.body());
+
+        ObjectNode order = objectMapper.createObjectNode().put("cost", 0);
+        order.putObject("user").put("id", userId).put("email", email);
+        order.putObject("certificate").put("id", certificateId);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens.get("accessToken").asText())
+                .POST(HttpRequest.BodyPublishers.ofString(order.toString()))
+                .build();
+        return () -> request;
+    }
+
+    private void run(String scenario, Supplier<HttpRequest> request) throws Exception {
+        drive(request, warmup);
+        Result result = drive(request, duration);
+        long[] latencies = result.sortedLatencies();
+        System.out.printf("%s: %d requests, %d errors, %.1f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                scenario, latencies.length, result.errors, latencies.length / (duration.toMillis() / 1000.0),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private Result drive(Supplier<HttpRequest> request, Duration period) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + period.toNanos();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(clients.submit(() -> {
+                Result result = new Result();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request.get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            result.errors++;
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        result.errors++;
+                        continue;
+                    }
+                    result.add(System.nanoTime() - start);
+                }
+                return result;
+            }));
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        clients.shutdown();
+        return total;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * Latencies of successful requests in nanoseconds and the number of failed ones.
+     */
+    private static final class Result {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        private void add(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        private void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        private long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.epam.esm.benchmarks;
+
+import com.epam.esm.hateoas.impl.CertificateHateoasAdder;
+import com.epam.esm.hateoas.impl.OrderHateoasAdder;
+import com.epam.esm.hateoas.impl.TagHateoasAdder;
+import com.epam.esm.hateoas.impl.UserHateoasAdder;
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.dto.OrderDto;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.Order;
+import com.epam.esm.repository.entity.Role;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.repository.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalHandlerInstantiator;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a page of {@code /certificates} and of {@code /orders/users/{userId}}
+ * with hateoas links and in the lean {@code ?links=none} mode, with the HAL mapper used for application/json.
+ * The payload sizes of both modes are printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private static final int TAGS = 3;
+
+    @Param({"5", "50"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<CertificateDto> certificatesWithLinks;
+    private List<CertificateDto> certificates;
+    private List<OrderDto> ordersWithLinks;
+    private List<OrderDto> orders;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setHandlerInstantiator(new HalHandlerInstantiator(new AnnotationLinkRelationProvider(),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/lab03/certificates");
+        request.setContextPath("/lab03");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        CertificateHateoasAdder certificateHateoasAdder = new CertificateHateoasAdder();
+        TagHateoasAdder tagHateoasAdder = new TagHateoasAdder();
+        OrderHateoasAdder orderHateoasAdder = new OrderHateoasAdder();
+        UserHateoasAdder userHateoasAdder = new UserHateoasAdder();
+        User user = new User(1, "name", "surname", "user1@mail.com", "password", Role.USER);
+
+        certificatesWithLinks = new ArrayList<>();
+        certificates = new ArrayList<>();
+        ordersWithLinks = new ArrayList<>();
+        orders = new ArrayList<>();
+        for (int id = 1; id <= size; id++) {
+            Certificate certificate = certificate(id);
+            CertificateDto certificateDto = certificate.toDto();
+            certificateDto.getTagsDto().forEach(tagHateoasAdder::addLinks);
+            certificateHateoasAdder.addLinks(certificateDto);
+            certificatesWithLinks.add(certificateDto);
+            certificates.add(certificate.toDto());
+
+            Order order = new Order(id, certificate.getCreateDate(), user, certificate, certificate.getPrice());
+            OrderDto orderDto = order.toDto();
+            userHateoasAdder.addLinks(orderDto.getUserDto());
+            certificateHateoasAdder.addLinks(orderDto.getCertificateDto());
+            orderDto.getCertificateDto().getTagsDto().forEach(tagHateoasAdder::addLinks);
+            orderHateoasAdder.addLinks(orderDto);
+            ordersWithLinks.add(orderDto);
+            orders.add(order.toDto());
+        }
+
+        System.out.printf("%nPage of %d: certificates %d bytes, lean %d bytes; orders %d bytes, lean %d bytes%n", size,
+                objectMapper.writeValueAsBytes(certificatesWithLinks).length,
+                objectMapper.writeValueAsBytes(certificates).length,
+                objectMapper.writeValueAsBytes(ordersWithLinks).length,
+                objectMapper.writeValueAsBytes(orders).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] certificatesWithLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(certificatesWithLinks);
+    }
+
+    @Benchmark
+    public byte[] certificatesWithoutLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(certificates);
+    }
+
+    @Benchmark
+    public byte[] ordersWithLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ordersWithLinks);
+    }
+
+    @Benchmark
+    public byte[] ordersWithoutLinks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    private static Certificate certificate(int id) {
+        List<Tag> tags = new ArrayList<>();
+        for (int tagId = id; tagId < id + TAGS; tagId++) {
+            tags.add(new Tag(tagId, BenchmarkDatabase.tagName(tagId)));
+        }
+        LocalDateTime date = LocalDateTime.of(2021, 1, 1, 0, 0).plusHours(id);
+        return new Certificate(id, "spa weekend " + id, "massage dinner yoga wine tasting balloon",
+                99.99, 30, date, date, tags);
+    }
+}
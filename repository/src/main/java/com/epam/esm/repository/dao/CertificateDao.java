@@ -1,21 +1,34 @@
 package com.epam.esm.repository.dao;
 
 import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CertificateDao {
 
     /**
-     * Create certificate.
+     * Create certificate. The tags must already exist.
      *
      * @param certificate the certificate
      * @return the certificate
      */
     Certificate create(Certificate certificate);
 
+    /**
+     * Create certificates and their bonds to the tags with JDBC batches.
+     * The tags must already exist. Generated ids are set to the passed certificates.
+     *
+     * @param certificates the certificates
+     * @return the certificates with ids
+     */
+    List<Certificate> createAll(List<Certificate> certificates);
+
     /**
      * Read optional.
      *
@@ -24,6 +37,14 @@ public interface CertificateDao {
      */
     Optional<Certificate> read(int certificateId);
 
+    /**
+     * Read certificates with their tags in one query.
+     *
+     * @param certificateIds the certificate ids
+     * @return certificates in the order of the given ids
+     */
+    List<Certificate> readByIds(List<Integer> certificateIds);
+
     /**
      * Readl all certificates
      *
@@ -31,13 +52,43 @@ public interface CertificateDao {
      */
     List<Certificate> readAll(int page, int size);
 
+    /**
+     * Read page of certificates following the cursor, ordered by id.
+     *
+     * @param cursor the position of the page
+     * @param size the size of page
+     * @return list of certificates
+     */
+    List<Certificate> readAllAfter(PageCursor cursor, int size);
+
+    /**
+     * Read all certificates with their tags through a forward-only cursor, ordered by id.
+     * Certificates of the passed batch are detached after the consumer returns.
+     *
+     * @param batchSize the number of certificates per batch
+     * @param batchConsumer the consumer of batches
+     */
+    void readAllInBatches(int batchSize, Consumer<List<Certificate>> batchConsumer);
+
 
+    /**
+     * Read page of certificates matching the search, with their tags. Certificates are ordered
+     * by the sort keys, then by id, so pages are stable when sort values repeat.
+     *
+     * @param tagName               the tag name, or null
+     * @param descriptionOrNamePart the name or description part, or null
+     * @param certificateIds        the candidate certificate ids, or null for all certificates
+     * @param sorts                 the sort keys
+     * @param page                  the page
+     * @param size                  the size
+     * @return the list of certificates
+     */
     List<Certificate> readCertificateWithParams(String tagName, String descriptionOrNamePart,
-                                                String sortParameters, boolean ascending,
+                                                Collection<Integer> certificateIds, List<CertificateSort> sorts,
                                                 int page, int size);
 
     /**
-     * Update int.
+     * Update int. The tags must already exist.
      *
      * @param certificate the certificate
      * @return the int
@@ -82,6 +133,14 @@ public interface CertificateDao {
      */
     List<Certificate> readCertificatesByTagNames(List<String> tags, int page, int size);
 
+    /**
+     * Count certificates having all of the given tags (AND conditions).
+     *
+     * @param tags the tag names
+     * @return the number of matching certificates
+     */
+    long countCertificatesByTagNames(List<String> tags);
+
 
 
 
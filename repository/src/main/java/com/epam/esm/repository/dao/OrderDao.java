@@ -1,6 +1,9 @@
 package com.epam.esm.repository.dao;
 
 import com.epam.esm.repository.entity.Order;
+import com.epam.esm.repository.entity.PageCursor;
+import com.epam.esm.repository.entity.UserSpending;
+import com.epam.esm.repository.entity.UserTagUsage;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,5 +14,21 @@ public interface OrderDao {
 
     List<Order> readAllByUserId(int userId, int page, int size);
 
+    List<Order> readAllByUserIdAfter(int userId, PageCursor cursor, int size);
+
     Optional<Order> readOrder(int orderId);
+
+    /**
+     * Read total order cost of every user.
+     *
+     * @return the list of user spending
+     */
+    List<UserSpending> readSpendingByUser();
+
+    /**
+     * Read how many orders of every user have each tag.
+     *
+     * @return the list of user tag usage
+     */
+    List<UserTagUsage> readTagUsageByUser();
 }
@@ -1,5 +1,6 @@
 package com.epam.esm.repository.dao;
 
+import com.epam.esm.repository.entity.PageCursor;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.TypedQuery;
@@ -7,6 +8,21 @@ import javax.persistence.TypedQuery;
 @Component
 public interface PaginationHandler {
 
+    /**
+     * Name of the query parameter holding the last seen id in keyset queries.
+     */
+    String LAST_ID_PARAMETER = "lastId";
+
     void setPageToQuery(TypedQuery<?> typedQuery, int page, int size);
 
+    /**
+     * Set keyset page to the query. The query should be ordered by id
+     * and filter rows by {@code id > :lastId}.
+     *
+     * @param typedQuery the query
+     * @param cursor the position of the page
+     * @param size the size of page
+     */
+    void setCursorToQuery(TypedQuery<?> typedQuery, PageCursor cursor, int size);
+
 }
@@ -1,7 +1,9 @@
 package com.epam.esm.repository.dao;
 
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +32,15 @@ public interface TagDao {
      */
     List<Tag> readAll(int page, int size);
 
+    /**
+     * Read page of tags following the cursor, ordered by id.
+     *
+     * @param cursor the position of the page
+     * @param size the size of page
+     * @return the list
+     */
+    List<Tag> readAllAfter(PageCursor cursor, int size);
+
     /**
      * Delete int.
      *
@@ -45,6 +56,22 @@ public interface TagDao {
      */
     Optional<Tag> readByName(String name);
 
+    /**
+     * Read tags by names with one query.
+     *
+     * @param names the names
+     * @return the found tags
+     */
+    List<Tag> readByNames(Collection<String> names);
+
+    /**
+     * Create tags with one JDBC batch. Generated ids are set to the passed tags.
+     *
+     * @param tags the tags
+     * @return the tags with ids
+     */
+    List<Tag> createAll(List<Tag> tags);
+
     Tag readMostWidelyTagFromUserWithHighestCostOrders();
 
 
@@ -1,5 +1,6 @@
 package com.epam.esm.repository.dao;
 
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.User;
 
 import java.util.List;
@@ -11,6 +12,8 @@ public interface UserDao {
 
     List<User> readAll(int page, int size);
 
+    List<User> readAllAfter(PageCursor cursor, int size);
+
     User saveUser(User user);
 
     Optional<User> findByEmail(String email);
@@ -0,0 +1,34 @@
+package com.epam.esm.repository.dao.impl;
+
+import org.hibernate.envers.DefaultRevisionEntity;
+import org.hibernate.envers.RevisionType;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Class {@code AuditRevisions} supports the audit of rows inserted with plain JDBC, which Envers doesn't see.
+ * The revision is persisted as the Envers revision entity, and the audit rows are written next to
+ * the inserted rows, in the default Envers tables named with the {@code _AUD} suffix
+ * and the {@code REV} and {@code REVTYPE} columns.
+ */
+final class AuditRevisions {
+
+    static final byte ADD = RevisionType.ADD.getRepresentation();
+
+    private AuditRevisions() {
+    }
+
+    /**
+     * Create a revision, flushed so audit rows written on the session connection can refer to it.
+     *
+     * @param entityManager the entity manager of the transaction which writes the rows
+     * @return the revision number
+     */
+    static int create(EntityManager entityManager) {
+        DefaultRevisionEntity revision = new DefaultRevisionEntity();
+        revision.setTimestamp(System.currentTimeMillis());
+        entityManager.persist(revision);
+        entityManager.flush();
+        return revision.getId();
+    }
+}
@@ -3,8 +3,16 @@ package com.epam.esm.repository.dao.impl;
 import com.epam.esm.repository.dao.CertificateDao;
 import com.epam.esm.repository.dao.PaginationHandler;
 import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.repository.exception.NullParameterException;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,11 +20,28 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.*;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 @Transactional
@@ -31,6 +56,18 @@ public class CertificateDaoImpl implements CertificateDao {
         this.paginationHandler = paginationHandler;
     }
 
+    /**
+     * Native deletes name the table they touch, so Hibernate evicts only the cached
+     * Certificate.tags collections instead of the whole second-level cache.
+     */
+    private static final String BONDING_TAGS_TABLE = "gift_certificate_m2m_tag";
+
+    private static final String CERTIFICATE_TABLE = "gift_certificate";
+
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+    private static final char LIKE_ESCAPE = '!';
+
     private static final String SQL_DELETE_CERTIFICATE = "DELETE FROM gift_certificate WHERE id = :id";
 
     private static final String SQL_READ_BONDING_TAGS = "SELECT t.id, t.name FROM tag t JOIN gift_certificate_m2m_tag m2m ON t.id=m2m.tag_id WHERE gift_certificate_id = :gc_id";
@@ -40,93 +77,331 @@ public class CertificateDaoImpl implements CertificateDao {
     private static final String SQL_DELETE_BONDING_TAGS_BY_CERTIFICATE_ID =
             "DELETE FROM gift_certificate_m2m_tag WHERE gift_certificate_id = :id";
 
-    private static final String CERTIFICATES_BY_TAG_NAMES = "Select gc From Certificate as gc JOIN gc.tags as t " +
-            "WHERE t.name in (:tags) GROUP BY gc.id HAVING count(gc.id) = (:size) ";
+    private static final String SQL_INSERT_CERTIFICATE = "INSERT INTO gift_certificate " +
+            "(name, description, price, duration, create_date, last_update_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT_BONDING_TAG =
+            "INSERT INTO gift_certificate_m2m_tag (gift_certificate_id, tag_id) VALUES (?, ?)";
+
+    private static final String SQL_INSERT_CERTIFICATE_AUDIT = "INSERT INTO gift_certificate_AUD " +
+            "(name, description, price, duration, create_date, last_update_date, id, REV, REVTYPE) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT_BONDING_TAG_AUDIT = "INSERT INTO gift_certificate_m2m_tag_AUD " +
+            "(gift_certificate_id, tag_id, REV, REVTYPE) VALUES (?, ?, ?, ?)";
+
+    private static final String ALL_CERTIFICATES = "Select gc From Certificate as gc ORDER BY gc.id";
+
+    private static final String CERTIFICATES_BY_IDS = "Select distinct gc From Certificate as gc WHERE gc.id in (:ids)";
 
+    private static final String CERTIFICATE_IDS_BY_TAG_NAMES = "Select gc.id From Certificate as gc JOIN gc.tags as t " +
+            "WHERE t.name in (:tags) GROUP BY gc.id HAVING count(gc.id) = (:size) ORDER BY gc.id";
+
+    private static final String SQL_COUNT_CERTIFICATES_BY_TAG_NAMES = "SELECT COUNT(*) FROM " +
+            "(SELECT m2m.gift_certificate_id FROM gift_certificate_m2m_tag m2m JOIN tag t ON t.id = m2m.tag_id " +
+            "WHERE t.name IN (:tags) GROUP BY m2m.gift_certificate_id HAVING COUNT(*) = :size) matched";
+
+    @Override
     public List<Certificate> readCertificatesByTagNames(List<String> tagNames, int page, int size) {
-        Query q = entityManager.createQuery(CERTIFICATES_BY_TAG_NAMES)
-                .setParameter("tags", tagNames)
-                .setParameter("size", (long) tagNames.size());
-        List<Certificate> certificates = q.getResultList();
-        int firstResult = (page - 1) * size;
-        int maxResult = Math.min(firstResult + size, certificates.size()-1);
-        return certificates.subList(firstResult, maxResult + 1);
-     }
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(tagNames));
+        TypedQuery<Integer> query = entityManager.createQuery(CERTIFICATE_IDS_BY_TAG_NAMES, Integer.class)
+                .setParameter("tags", distinctNames)
+                .setParameter("size", (long) distinctNames.size());
+        paginationHandler.setPageToQuery(query, page, size);
+        return readByIds(query.getResultList());
+    }
+
+    @Override
+    public long countCertificatesByTagNames(List<String> tagNames) {
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(tagNames));
+        Number count = (Number) entityManager.createNativeQuery(SQL_COUNT_CERTIFICATES_BY_TAG_NAMES)
+                .setParameter("tags", distinctNames)
+                .setParameter("size", distinctNames.size())
+                .getSingleResult();
+        return count.longValue();
+    }
 
     @Override
     public Certificate create(Certificate certificate) {
         if (certificate == null) {
             throw new NullParameterException("Null parameter in create certificate");
         }
+        certificate.setTags(tagReferences(certificate.getTags()));
         entityManager.persist(certificate);
         return certificate;
     }
 
+    /**
+     * Tags of a written certificate already exist, so they are attached as references
+     * instead of being loaded or cascaded one by one.
+     */
+    private List<Tag> tagReferences(List<Tag> tags) {
+        if (tags == null) {
+            return new ArrayList<>();
+        }
+        return tags.stream()
+                .map(tag -> entityManager.getReference(Tag.class, tag.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * IDENTITY ids turn off Hibernate insert batching, so the rows are inserted
+     * with plain JDBC batches on the session connection and the ids are read
+     * from the generated keys. Envers doesn't see these rows, so their audit rows
+     * are inserted the same way, in the revision of the transaction.
+     */
+    @Override
+    public List<Certificate> createAll(List<Certificate> certificates) {
+        if (certificates == null) {
+            throw new NullParameterException("Null parameter in create certificates");
+        }
+        if (certificates.isEmpty()) {
+            return certificates;
+        }
+        int revision = AuditRevisions.create(entityManager);
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            insertCertificates(connection, certificates);
+            insertBondingTags(connection, certificates);
+            insertCertificateAudits(connection, certificates, revision);
+            insertBondingTagAudits(connection, certificates, revision);
+        });
+        QuerySpaces.invalidate(entityManager, CERTIFICATE_TABLE, BONDING_TAGS_TABLE);
+        return certificates;
+    }
+
+    private void insertCertificates(Connection connection, List<Certificate> certificates) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_CERTIFICATE,
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (Certificate certificate : certificates) {
+                setCertificateColumns(statement, certificate);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                for (Certificate certificate : certificates) {
+                    generatedKeys.next();
+                    certificate.setId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void insertBondingTags(Connection connection, List<Certificate> certificates) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_BONDING_TAG)) {
+            for (Certificate certificate : certificates) {
+                for (Tag tag : certificate.getTags()) {
+                    statement.setInt(1, certificate.getId());
+                    statement.setInt(2, tag.getId());
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertCertificateAudits(Connection connection, List<Certificate> certificates, int revision)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_CERTIFICATE_AUDIT)) {
+            for (Certificate certificate : certificates) {
+                setCertificateColumns(statement, certificate);
+                statement.setInt(7, certificate.getId());
+                statement.setInt(8, revision);
+                statement.setByte(9, AuditRevisions.ADD);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertBondingTagAudits(Connection connection, List<Certificate> certificates, int revision)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_BONDING_TAG_AUDIT)) {
+            for (Certificate certificate : certificates) {
+                for (Tag tag : certificate.getTags()) {
+                    statement.setInt(1, certificate.getId());
+                    statement.setInt(2, tag.getId());
+                    statement.setInt(3, revision);
+                    statement.setByte(4, AuditRevisions.ADD);
+                    statement.addBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void setCertificateColumns(PreparedStatement statement, Certificate certificate)
+            throws SQLException {
+        statement.setString(1, certificate.getName());
+        statement.setString(2, certificate.getDescription());
+        statement.setDouble(3, certificate.getPrice());
+        statement.setInt(4, certificate.getDuration());
+        statement.setTimestamp(5, Timestamp.valueOf(certificate.getCreateDate()));
+        statement.setTimestamp(6, Timestamp.valueOf(certificate.getLastUpdateDate()));
+    }
+
+    /**
+     * Scrolls the certificates and loads the tags of each batch with one query.
+     * The persistence context is cleared after every batch and the second-level cache
+     * is bypassed, so the heap used doesn't grow with the number of certificates.
+     */
+    @Override
+    public void readAllInBatches(int batchSize, Consumer<List<Certificate>> batchConsumer) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try (ScrollableResults results = session.createQuery(ALL_CERTIFICATES, Certificate.class)
+                .setFetchSize(batchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            List<Certificate> batch = new ArrayList<>(batchSize);
+            while (results.next()) {
+                batch.add((Certificate) results.get(0));
+                if (batch.size() == batchSize) {
+                    consumeBatch(batch, batchConsumer);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumeBatch(batch, batchConsumer);
+            }
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private void consumeBatch(List<Certificate> batch, Consumer<List<Certificate>> batchConsumer) {
+        readByIds(batch.stream()
+                .map(Certificate::getId)
+                .collect(Collectors.toList()));
+        batchConsumer.accept(batch);
+        batch.clear();
+        entityManager.clear();
+    }
+
     @Override
     public Optional<Certificate> read(int certificateId) {
-        return Optional.ofNullable(entityManager.find(Certificate.class, certificateId));
+        Map<String, Object> hints = Collections.singletonMap(FETCH_GRAPH_HINT,
+                entityManager.getEntityGraph(Certificate.WITH_TAGS_GRAPH));
+        return Optional.ofNullable(entityManager.find(Certificate.class, certificateId, hints));
+    }
+
+    /**
+     * Certificates are read in two phases: a page of ids first, then the certificates
+     * of the page with their tags through the entity graph. Paging the fetch join itself
+     * would make Hibernate apply the limit in memory over the whole join.
+     */
+    @Override
+    public List<Certificate> readByIds(List<Integer> certificateIds) {
+        if (certificateIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Certificate> certificates = entityManager.createQuery(CERTIFICATES_BY_IDS, Certificate.class)
+                .setParameter("ids", certificateIds)
+                .setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(Certificate.WITH_TAGS_GRAPH))
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .getResultList();
+        Map<Integer, Certificate> certificatesById = new HashMap<>();
+        certificates.forEach(certificate -> certificatesById.put(certificate.getId(), certificate));
+        return certificateIds.stream()
+                .map(certificatesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<Certificate> readAll(int page, int size) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Certificate> criteriaQuery = builder.createQuery(Certificate.class);
+        CriteriaQuery<Integer> criteriaQuery = builder.createQuery(Integer.class);
         Root<Certificate> from = criteriaQuery.from(Certificate.class);
-        CriteriaQuery<Certificate> select = criteriaQuery.select(from);
+        CriteriaQuery<Integer> select = criteriaQuery.select(from.<Integer>get("id"))
+                .orderBy(builder.asc(from.get("id")));
 
-        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
-        countQuery.select(builder.count(countQuery.from(Certificate.class)));
-
-        TypedQuery<Certificate> typedQuery = entityManager.createQuery(select);
+        TypedQuery<Integer> typedQuery = entityManager.createQuery(select);
         paginationHandler.setPageToQuery(typedQuery, page, size);
-        return typedQuery.getResultList();
+        return readByIds(typedQuery.getResultList());
     }
 
     @Override
-    public List<Certificate> readCertificateWithParams(String tagName, String descriptionOrNamePart,
-                                                       String sortParameter, boolean ascending,
-                                                       int page, int size) {
-        StoredProcedureQuery storedProcedure = entityManager.createStoredProcedureQuery("findProcedure");
-
-        storedProcedure.registerStoredProcedureParameter("tagName", String.class, ParameterMode.IN);
-        storedProcedure.registerStoredProcedureParameter("queryPart", String.class, ParameterMode.IN);
-        storedProcedure.registerStoredProcedureParameter("sortBy", String.class, ParameterMode.IN);
-        storedProcedure.registerStoredProcedureParameter("ascending", Boolean.class, ParameterMode.IN);
-        storedProcedure.setParameter("tagName", tagName);
-        storedProcedure.setParameter("queryPart", descriptionOrNamePart);
-        storedProcedure.setParameter("sortBy", sortParameter);
-        storedProcedure.setParameter("ascending", ascending);
+    public List<Certificate> readAllAfter(PageCursor cursor, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteriaQuery = builder.createQuery(Integer.class);
+        Root<Certificate> from = criteriaQuery.from(Certificate.class);
+        CriteriaQuery<Integer> select = criteriaQuery.select(from.<Integer>get("id"))
+                .where(builder.greaterThan(from.<Integer>get("id"),
+                        builder.parameter(Integer.class, PaginationHandler.LAST_ID_PARAMETER)))
+                .orderBy(builder.asc(from.get("id")));
 
-        storedProcedure.execute();
+        TypedQuery<Integer> typedQuery = entityManager.createQuery(select);
+        paginationHandler.setCursorToQuery(typedQuery, cursor, size);
+        return readByIds(typedQuery.getResultList());
+    }
 
-        List<Object[]> objList = storedProcedure.getResultList();
-        List<Certificate> certificates = new ArrayList<>();
-        for (Object[] array : objList) {
-            Certificate certificate = new Certificate();
-            certificate.setId((Integer) array[0]);
+    /**
+     * Builds the search from the parameters present. Like the former stored procedure,
+     * only certificates having at least one tag are found. Sort keys are plain columns,
+     * so the composite indexes on {@code gift_certificate} can serve the order.
+     */
+    @Override
+    public List<Certificate> readCertificateWithParams(String tagName, String descriptionOrNamePart,
+                                                       Collection<Integer> certificateIds,
+                                                       List<CertificateSort> sorts, int page, int size) {
+        if (certificateIds != null && certificateIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteriaQuery = builder.createQuery(Integer.class);
+        Root<Certificate> from = criteriaQuery.from(Certificate.class);
 
-            Timestamp createDate = (Timestamp) array[1];
-            certificate.setCreateDate(createDate.toLocalDateTime());
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.exists(taggedSubquery(builder, criteriaQuery, from, tagName)));
+        if (certificateIds != null) {
+            predicates.add(from.get("id").in(certificateIds));
+        }
+        if (descriptionOrNamePart != null) {
+            String pattern = "%" + escapeLike(descriptionOrNamePart) + "%";
+            predicates.add(builder.or(
+                    builder.like(from.get("name"), pattern, LIKE_ESCAPE),
+                    builder.like(from.get("description"), pattern, LIKE_ESCAPE)));
+        }
 
-            certificate.setDescription((String) array[2]);
-            certificate.setDuration((Integer) array[3]);
+        List<javax.persistence.criteria.Order> orders = new ArrayList<>();
+        for (CertificateSort sort : sorts) {
+            Path<?> path = from.get(sort.getField().getAttribute());
+            orders.add(sort.isAscending() ? builder.asc(path) : builder.desc(path));
+        }
+        orders.add(builder.asc(from.get("id")));
 
-            Timestamp lastUpdateDate = (Timestamp) array[4];
-            certificate.setLastUpdateDate(lastUpdateDate.toLocalDateTime());
+        CriteriaQuery<Integer> select = criteriaQuery.select(from.<Integer>get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+        TypedQuery<Integer> typedQuery = entityManager.createQuery(select);
+        paginationHandler.setPageToQuery(typedQuery, page, size);
+        return readByIds(typedQuery.getResultList());
+    }
 
-            certificate.setName((String) array[5]);
-            certificate.setPrice((Double) array[6]);
-            certificates.add(certificate);
+    private static Subquery<Integer> taggedSubquery(CriteriaBuilder builder, CriteriaQuery<?> criteriaQuery,
+                                                    Root<Certificate> from, String tagName) {
+        Subquery<Integer> tagged = criteriaQuery.subquery(Integer.class);
+        Root<Certificate> taggedFrom = tagged.from(Certificate.class);
+        Join<Certificate, Tag> tags = taggedFrom.join("tags");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(taggedFrom.get("id"), from.get("id")));
+        if (tagName != null) {
+            predicates.add(builder.equal(tags.get("name"), tagName));
         }
-        int firstResult = (page - 1) * size;
-        int maxResult = Math.min(firstResult + size, certificates.size()-1);
-
+        return tagged.select(taggedFrom.<Integer>get("id"))
+                .where(predicates.toArray(new Predicate[0]));
+    }
 
-        return certificates.subList(firstResult, maxResult+1);
+    private static String escapeLike(String value) {
+        return value.replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
     }
 
     @Override
     public void update(Certificate certificate) {
+        certificate.setTags(tagReferences(certificate.getTags()));
         entityManager.merge(certificate);
     }
 
@@ -149,6 +424,7 @@ public class CertificateDaoImpl implements CertificateDao {
     public int delete(int certificateId) {
         Query q = entityManager.createNativeQuery(SQL_DELETE_CERTIFICATE)
                 .setParameter("id", certificateId);
+        q.unwrap(NativeQuery.class).addSynchronizedEntityClass(Certificate.class);
         return q.executeUpdate();
     }
 
@@ -156,6 +432,7 @@ public class CertificateDaoImpl implements CertificateDao {
     public int deleteBondingTagsByTagId(int tagId) {
         Query q = entityManager.createNativeQuery(SQL_DELETE_BONDING_TAGS_BY_TAG_ID)
                 .setParameter("id", tagId);
+        q.unwrap(NativeQuery.class).addSynchronizedQuerySpace(BONDING_TAGS_TABLE);
         return q.executeUpdate();
     }
 
@@ -163,6 +440,7 @@ public class CertificateDaoImpl implements CertificateDao {
     public int deleteBondingTagsByCertificateId(int certificateId) {
         Query q = entityManager.createNativeQuery(SQL_DELETE_BONDING_TAGS_BY_CERTIFICATE_ID)
                 .setParameter("id", certificateId);
+        q.unwrap(NativeQuery.class).addSynchronizedQuerySpace(BONDING_TAGS_TABLE);
         return q.executeUpdate();
     }
 }
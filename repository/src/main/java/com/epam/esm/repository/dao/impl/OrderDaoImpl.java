@@ -1,8 +1,13 @@
 package com.epam.esm.repository.dao.impl;
 
+import com.epam.esm.repository.dao.CertificateDao;
 import com.epam.esm.repository.dao.OrderDao;
 import com.epam.esm.repository.dao.PaginationHandler;
 import com.epam.esm.repository.entity.Order;
+import com.epam.esm.repository.entity.PageCursor;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.repository.entity.UserSpending;
+import com.epam.esm.repository.entity.UserTagUsage;
 import com.epam.esm.repository.exception.NullParameterException;
 import org.hibernate.Session;
 import org.hibernate.query.Query;
@@ -13,19 +18,40 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 @Repository
 @Transactional
 public class OrderDaoImpl implements OrderDao {
 
+    private static final String ORDERS_BY_USER_ID = "Select o From Order as o " +
+            "JOIN FETCH o.user JOIN FETCH o.certificate WHERE o.user.id = :user ORDER BY o.id";
+
+    private static final String ORDERS_BY_USER_ID_AFTER = "Select o From Order as o " +
+            "JOIN FETCH o.user JOIN FETCH o.certificate WHERE o.user.id = :user AND o.id > :" +
+            PaginationHandler.LAST_ID_PARAMETER + " ORDER BY o.id";
+
+    private static final String SQL_SPENDING_BY_USER =
+            "SELECT user_id, SUM(cost) FROM orders GROUP BY user_id";
+
+    private static final String SQL_TAG_USAGE_BY_USER =
+            "SELECT orders.user_id, tag.id, tag.name, COUNT(*) "
+                    + "FROM orders "
+                    + "JOIN gift_certificate_m2m_tag gcm2mt ON gcm2mt.gift_certificate_id = orders.certificate_id "
+                    + "JOIN tag ON tag.id = gcm2mt.tag_id "
+                    + "GROUP BY orders.user_id, tag.id, tag.name";
+
     private final EntityManager entityManager;
     private final PaginationHandler paginationHandler;
+    private final CertificateDao certificateDao;
 
     @Autowired
-    public OrderDaoImpl(EntityManager entityManager, PaginationHandler paginationHandler) {
+    public OrderDaoImpl(EntityManager entityManager, PaginationHandler paginationHandler,
+                        CertificateDao certificateDao) {
         this.entityManager = entityManager;
         this.paginationHandler = paginationHandler;
+        this.certificateDao = certificateDao;
     }
 
     @Override
@@ -40,14 +66,56 @@ public class OrderDaoImpl implements OrderDao {
     @Override
     public List<Order> readAllByUserId(int userId, int page, int size) {
         Session session = entityManager.unwrap(Session.class);
-        Query<Order> query = session.createQuery("From Order where user.id=:user");
+        Query<Order> query = session.createQuery(ORDERS_BY_USER_ID, Order.class);
         query.setParameter("user", userId);
         paginationHandler.setPageToQuery(query, page, size);
-        return query.list();
+        return fetchCertificateTags(query.list());
+    }
+
+    @Override
+    public List<Order> readAllByUserIdAfter(int userId, PageCursor cursor, int size) {
+        Session session = entityManager.unwrap(Session.class);
+        Query<Order> query = session.createQuery(ORDERS_BY_USER_ID_AFTER, Order.class);
+        query.setParameter("user", userId);
+        paginationHandler.setCursorToQuery(query, cursor, size);
+        return fetchCertificateTags(query.list());
+    }
+
+    /**
+     * Loads the tags of all certificates of the page with one query. The certificates are
+     * already in the persistence context, so their tag collections get initialized in place.
+     */
+    private List<Order> fetchCertificateTags(List<Order> orders) {
+        List<Integer> certificateIds = orders.stream()
+                .map(order -> order.getCertificate().getId())
+                .distinct()
+                .collect(Collectors.toList());
+        certificateDao.readByIds(certificateIds);
+        return orders;
     }
 
     @Override
     public Optional<Order> readOrder(int orderId) {
         return Optional.ofNullable(entityManager.find(Order.class, orderId));
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UserSpending> readSpendingByUser() {
+        List<Object[]> rows = entityManager.createNativeQuery(SQL_SPENDING_BY_USER).getResultList();
+        return rows.stream()
+                .map(row -> new UserSpending(((Number) row[0]).intValue(), ((Number) row[1]).doubleValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UserTagUsage> readTagUsageByUser() {
+        List<Object[]> rows = entityManager.createNativeQuery(SQL_TAG_USAGE_BY_USER).getResultList();
+        return rows.stream()
+                .map(row -> new UserTagUsage(((Number) row[0]).intValue(),
+                        new Tag(((Number) row[1]).intValue(), (String) row[2]),
+                        ((Number) row[3]).longValue()))
+                .collect(Collectors.toList());
+    }
 }
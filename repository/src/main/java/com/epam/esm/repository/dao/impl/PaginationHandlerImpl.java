@@ -1,6 +1,7 @@
 package com.epam.esm.repository.dao.impl;
 
 import com.epam.esm.repository.dao.PaginationHandler;
+import com.epam.esm.repository.entity.PageCursor;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.TypedQuery;
@@ -12,4 +13,10 @@ public class PaginationHandlerImpl implements PaginationHandler {
         typedQuery.setFirstResult((page - 1) * size);
         typedQuery.setMaxResults(size);
     }
+
+    @Override
+    public void setCursorToQuery(TypedQuery<?> typedQuery, PageCursor cursor, int size) {
+        typedQuery.setParameter(LAST_ID_PARAMETER, cursor.getLastId());
+        typedQuery.setMaxResults(size);
+    }
 }
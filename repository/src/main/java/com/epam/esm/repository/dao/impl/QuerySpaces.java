@@ -0,0 +1,30 @@
+package com.epam.esm.repository.dao.impl;
+
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Class {@code QuerySpaces} invalidates the second level cache for tables written through plain JDBC,
+ * the same way Hibernate does for a native update with synchronized entities.
+ * Cached query results over the tables are invalidated at commit, and the entity regions of these tables are evicted.
+ */
+final class QuerySpaces {
+
+    private QuerySpaces() {
+    }
+
+    /**
+     * Register invalidation of tables in the current session.
+     *
+     * @param entityManager the entity manager of the transaction which writes the tables
+     * @param tables        the table names
+     */
+    static void invalidate(EntityManager entityManager, String... tables) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        session.getActionQueue().addAction(new BulkOperationCleanupAction(session, new HashSet<>(Arrays.asList(tables))));
+    }
+}
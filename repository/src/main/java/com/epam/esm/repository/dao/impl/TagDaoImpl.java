@@ -2,9 +2,13 @@ package com.epam.esm.repository.dao.impl;
 
 import com.epam.esm.repository.dao.PaginationHandler;
 import com.epam.esm.repository.dao.TagDao;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.repository.exception.NullParameterException;
 import com.epam.esm.repository.exception.TagException;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
@@ -16,6 +20,11 @@ import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +43,14 @@ public class TagDaoImpl implements TagDao {
 
     private static final String SQL_DELETE = "DELETE FROM tag WHERE id=:id";
 
+    private static final String TAG_TABLE = "tag";
+
+    private static final String SQL_INSERT = "INSERT INTO tag (name) VALUES (?)";
+
+    private static final String SQL_INSERT_AUDIT = "INSERT INTO tag_AUD (id, name, REV, REVTYPE) VALUES (?, ?, ?, ?)";
+
+    private static final String TAGS_BY_NAMES = "Select t from Tag t where t.name in (:names)";
+
     private static final String SQL_REQUEST_FOR_USER_ID_WITH_HIGHEST_COST_ORDERS =
             "(SELECT user_id FROM  "
                     + "(SELECT SUM(cost) AS summa,user_id "
@@ -80,10 +97,27 @@ public class TagDaoImpl implements TagDao {
         return typedQuery.getResultList();
     }
 
+    @Override
+    public List<Tag> readAllAfter(PageCursor cursor, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tag> criteriaQuery = builder.createQuery(Tag.class);
+        Root<Tag> from = criteriaQuery.from(Tag.class);
+        CriteriaQuery<Tag> select = criteriaQuery.select(from)
+                .where(builder.greaterThan(from.<Integer>get("id"),
+                        builder.parameter(Integer.class, PaginationHandler.LAST_ID_PARAMETER)))
+                .orderBy(builder.asc(from.get("id")));
+
+        TypedQuery<Tag> typedQuery = entityManager.createQuery(select);
+        paginationHandler.setCursorToQuery(typedQuery, cursor, size);
+        return typedQuery.getResultList();
+    }
+
     @Override
     public void delete(int id) {
         entityManager.createNativeQuery(SQL_DELETE)
                 .setParameter("id", id)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Tag.class)
                 .executeUpdate();
     }
 
@@ -93,8 +127,63 @@ public class TagDaoImpl implements TagDao {
             throw new NullParameterException("Null parameter in read tag by name");
         }
         String hql = "Select t from Tag  t where t.name=:name";
-        Query query = entityManager.createQuery(hql).setParameter("name", name);
-        return query.getResultStream().findFirst();
+        Query query = entityManager.createQuery(hql)
+                .setParameter("name", name)
+                .setHint(QueryHints.HINT_CACHEABLE, true);
+        return query.getResultList().stream().findFirst();
+    }
+
+    @Override
+    public List<Tag> readByNames(Collection<String> names) {
+        if (names == null) {
+            throw new NullParameterException("Null parameter in read tags by names");
+        }
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return entityManager.createQuery(TAGS_BY_NAMES, Tag.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tag> createAll(List<Tag> tags) {
+        if (tags == null) {
+            throw new NullParameterException("Null parameter in create tags");
+        }
+        if (tags.isEmpty()) {
+            return tags;
+        }
+        int revision = AuditRevisions.create(entityManager);
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Tag tag : tags) {
+                    statement.setString(1, tag.getName());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (Tag tag : tags) {
+                        generatedKeys.next();
+                        tag.setId(generatedKeys.getInt(1));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SQL_INSERT_AUDIT)) {
+                for (Tag tag : tags) {
+                    statement.setInt(1, tag.getId());
+                    statement.setString(2, tag.getName());
+                    statement.setInt(3, revision);
+                    statement.setByte(4, AuditRevisions.ADD);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+        QuerySpaces.invalidate(entityManager, TAG_TABLE);
+        return tags;
     }
 
     @Override
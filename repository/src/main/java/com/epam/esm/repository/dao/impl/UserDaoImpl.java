@@ -2,6 +2,7 @@ package com.epam.esm.repository.dao.impl;
 
 import com.epam.esm.repository.dao.PaginationHandler;
 import com.epam.esm.repository.dao.UserDao;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.User;
 import com.epam.esm.repository.exception.NullParameterException;
 import org.hibernate.Session;
@@ -52,6 +53,21 @@ public class UserDaoImpl implements UserDao {
         return typedQuery.getResultList();
     }
 
+    @Override
+    public List<User> readAllAfter(PageCursor cursor, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> criteriaQuery = builder.createQuery(User.class);
+        Root<User> from = criteriaQuery.from(User.class);
+        CriteriaQuery<User> select = criteriaQuery.select(from)
+                .where(builder.greaterThan(from.<Integer>get("id"),
+                        builder.parameter(Integer.class, PaginationHandler.LAST_ID_PARAMETER)))
+                .orderBy(builder.asc(from.get("id")));
+
+        TypedQuery<User> typedQuery = entityManager.createQuery(select);
+        paginationHandler.setCursorToQuery(typedQuery, cursor, size);
+        return typedQuery.getResultList();
+    }
+
     @Override
     public User saveUser(User user) {
         if (user == null) {
@@ -69,6 +85,7 @@ public class UserDaoImpl implements UserDao {
         Session session = entityManager.unwrap(Session.class);
         Query<User> query = session.createQuery("FROM User u WHERE u.email = :email");
         query.setParameter("email", email);
+        query.setCacheable(true);
         return query.uniqueResultOptional();
     }
 }
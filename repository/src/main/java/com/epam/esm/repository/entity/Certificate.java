@@ -1,6 +1,8 @@
 package com.epam.esm.repository.entity;
 
 import com.epam.esm.repository.dto.CertificateDto;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.envers.Audited;
 
 import javax.persistence.*;
@@ -10,9 +12,18 @@ import java.util.stream.Collectors;
 
 @Entity
 @Audited
-@Table(name = "gift_certificate")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "gift_certificate", indexes = {
+        @Index(name = "gift_certificate_name_id_idx", columnList = "name, id"),
+        @Index(name = "gift_certificate_last_update_date_id_idx", columnList = "last_update_date, id"),
+        @Index(name = "gift_certificate_name_last_update_date_id_idx", columnList = "name, last_update_date, id"),
+        @Index(name = "gift_certificate_last_update_date_name_id_idx", columnList = "last_update_date, name, id")})
+@NamedEntityGraph(name = Certificate.WITH_TAGS_GRAPH, attributeNodes = @NamedAttributeNode("tags"))
 public class Certificate {
 
+    public static final String WITH_TAGS_GRAPH = "Certificate.tags";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -35,6 +46,7 @@ public class Certificate {
             name = "gift_certificate_m2m_tag",
             joinColumns = {@JoinColumn(name = "gift_certificate_id")},
             inverseJoinColumns = {@JoinColumn(name = "tag_id")})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Tag> tags;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "certificate")
@@ -0,0 +1,81 @@
+package com.epam.esm.repository.entity;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * One sort key of the certificate search.
+ */
+public class CertificateSort {
+
+    private final Field field;
+    private final boolean ascending;
+
+    public CertificateSort(Field field, boolean ascending) {
+        this.field = field;
+        this.ascending = ascending;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CertificateSort that = (CertificateSort) o;
+        return ascending == that.ascending && field == that.field;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, ascending);
+    }
+
+    @Override
+    public String toString() {
+        return field.getParameter() + "," + (ascending ? "asc" : "desc");
+    }
+
+    public enum Field {
+        NAME("name", "name"),
+        DATE("date", "lastUpdateDate");
+
+        private final String parameter;
+        private final String attribute;
+
+        Field(String parameter, String attribute) {
+            this.parameter = parameter;
+            this.attribute = attribute;
+        }
+
+        /**
+         * Find field by its request parameter name.
+         *
+         * @param parameter the parameter name, name or date
+         * @return the field
+         */
+        public static Optional<Field> fromParameter(String parameter) {
+            return Arrays.stream(values())
+                    .filter(field -> field.parameter.equalsIgnoreCase(parameter))
+                    .findFirst();
+        }
+
+        public String getParameter() {
+            return parameter;
+        }
+
+        /**
+         * @return the name of the mapped {@link Certificate} attribute
+         */
+        public String getAttribute() {
+            return attribute;
+        }
+    }
+}
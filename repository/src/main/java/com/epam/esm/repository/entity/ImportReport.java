@@ -0,0 +1,49 @@
+package com.epam.esm.repository.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ImportReport {
+
+    private int imported;
+    private final List<RowFailure> failures = new ArrayList<>();
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addFailure(int row, String message) {
+        failures.add(new RowFailure(row, message));
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failures.size();
+    }
+
+    public List<RowFailure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public static class RowFailure {
+        private final int row;
+        private final String message;
+
+        public RowFailure(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.esm.repository.entity;
+
+import com.epam.esm.repository.exception.PaginationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset (seek) page: the id of the last row the client has seen.
+ * Lists are ordered by primary key, so the id is also the sort key.
+ * Clients receive the cursor as an opaque {@code after} token.
+ */
+public class PageCursor {
+
+    private static final PageCursor FIRST_PAGE = new PageCursor(0);
+
+    private final int lastId;
+
+    public PageCursor(int lastId) {
+        this.lastId = lastId;
+    }
+
+    /**
+     * Decode cursor from the token. Null or empty token means the first page.
+     *
+     * @param token the token received from the client
+     * @return the cursor
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new PageCursor(Integer.parseInt(value));
+        } catch (IllegalArgumentException e) {
+            throw new PaginationException("Incorrect page cursor: " + token);
+        }
+    }
+
+    /**
+     * Encode cursor to the token for the client.
+     *
+     * @return the token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageCursor that = (PageCursor) o;
+        return lastId == that.lastId;
+    }
+
+    @Override
+    public int hashCode() {
+        return lastId;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PageCursor{");
+        sb.append("lastId=").append(lastId);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.epam.esm.repository.entity;
+
+/**
+ * Total cost of all orders of one user.
+ */
+public class UserSpending {
+
+    private final int userId;
+    private final double total;
+
+    public UserSpending(int userId, double total) {
+        this.userId = userId;
+        this.total = total;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+}
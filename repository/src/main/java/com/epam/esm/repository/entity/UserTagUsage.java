@@ -0,0 +1,29 @@
+package com.epam.esm.repository.entity;
+
+/**
+ * Number of orders of one user whose certificate has the tag.
+ */
+public class UserTagUsage {
+
+    private final int userId;
+    private final Tag tag;
+    private final long count;
+
+    public UserTagUsage(int userId, Tag tag, long count) {
+        this.userId = userId;
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public Tag getTag() {
+        return tag;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,8 @@
+package com.epam.esm.repository.exception;
+
+public class PaginationException extends RuntimeException {
+
+    public PaginationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.epam.esm.repository.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Times every public method of {@code @Repository} beans and records how many rows it returned.
+ * Meters are tagged with the dao class, the method and the outcome, and can be read through
+ * the actuator {@code metrics} endpoint.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(value = "dao.metrics.enabled", matchIfMissing = true)
+public class DaoMetricsAspect {
+
+    public static final String TIMER_NAME = "dao.query";
+    public static final String ROWS_NAME = "dao.query.rows";
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public DaoMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) && execution(public * *(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String dao = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            Object result = joinPoint.proceed();
+            outcome = SUCCESS;
+            recordRows(dao, method, result);
+            return result;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Time spent in dao methods")
+                    .tag("dao", dao)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Only results that are rows are counted: collections, maps and optionals.
+     * Affected row counts and void methods are left out.
+     */
+    private void recordRows(String dao, String method, Object result) {
+        long rows;
+        if (result instanceof Collection) {
+            rows = ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            rows = ((Map<?, ?>) result).size();
+        } else if (result instanceof Optional) {
+            rows = ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+        DistributionSummary.builder(ROWS_NAME)
+                .description("Rows returned by dao methods")
+                .baseUnit("rows")
+                .tag("dao", dao)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+}
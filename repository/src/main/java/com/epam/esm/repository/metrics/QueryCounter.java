@@ -0,0 +1,78 @@
+package com.epam.esm.repository.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of SQL statements prepared by Hibernate since the last reset on the current thread.
+ * The counter can be carried to the threads that continue the work, with {@link #propagate(Runnable)}
+ * or {@link #detach()} and {@link #attach(AtomicInteger)}. Threads without a counter count nothing.
+ * Statements run through {@code Session.doWork} on the raw connection aren't counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void reset() {
+        COUNTER.set(new AtomicInteger());
+    }
+
+    public static int count() {
+        AtomicInteger counter = COUNTER.get();
+        return counter == null ? 0 : counter.get();
+    }
+
+    public static void clear() {
+        COUNTER.remove();
+    }
+
+    /**
+     * Remove the counter from the current thread, to attach it to another one.
+     *
+     * @return the counter, null if the thread has none
+     */
+    public static AtomicInteger detach() {
+        AtomicInteger counter = COUNTER.get();
+        COUNTER.remove();
+        return counter;
+    }
+
+    public static void attach(AtomicInteger counter) {
+        COUNTER.set(counter);
+    }
+
+    /**
+     * Wrap a task so its statements count on the counter of the current thread, wherever it runs.
+     *
+     * @param task the task
+     * @return the wrapped task, or the task itself if the current thread has no counter
+     */
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNTER.get();
+            COUNTER.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    COUNTER.remove();
+                } else {
+                    COUNTER.set(previous);
+                }
+            }
+        };
+    }
+
+    static void increment() {
+        AtomicInteger counter = COUNTER.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+}
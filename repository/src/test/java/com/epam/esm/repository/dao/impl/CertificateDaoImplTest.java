@@ -1,18 +1,29 @@
 package com.epam.esm.repository.dao.impl;
 
 import com.epam.esm.repository.config.DaoConfig;
+import com.epam.esm.repository.dao.TagDao;
 import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
 import com.epam.esm.repository.entity.Tag;
+import org.hibernate.SessionFactory;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,10 +33,17 @@ class CertificateDaoImplTest {
 
 
     private final CertificateDaoImpl certificateDao;
+    private final Statistics statistics;
+    private final TagDao tagDao;
+    private final EntityManager entityManager;
 
     @Autowired
-    public CertificateDaoImplTest(CertificateDaoImpl certificateDao) {
+    public CertificateDaoImplTest(CertificateDaoImpl certificateDao, EntityManagerFactory entityManagerFactory,
+                                  TagDao tagDao, EntityManager entityManager) {
         this.certificateDao = certificateDao;
+        this.tagDao = tagDao;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
     private static final Tag TAG_2 = new Tag(2, "tagName3");
@@ -43,6 +61,8 @@ class CertificateDaoImplTest {
     private static final String SORT_PARAMETER = "ASC";
     private static final int PAGE = 0;
     private static final int SIZE = 5;
+    private static final String SQL_COUNT_BONDING_TAG_AUDITS =
+            "SELECT COUNT(*) FROM gift_certificate_m2m_tag_AUD WHERE gift_certificate_id = :id";
 
 
     @Test
@@ -60,4 +80,84 @@ class CertificateDaoImplTest {
 
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void readAllFetchesTagsWithPage() {
+        statistics.clear();
+        List<Certificate> actual = certificateDao.readAll(PAGE, SIZE);
+        List<List<Tag>> actualTags = actual.stream()
+                .map(Certificate::getTags)
+                .map(ArrayList::new)
+                .collect(Collectors.toList());
+        List<List<Tag>> expectedTags = Arrays.asList(GIFT_CERTIFICATE_1.getTags(),
+                GIFT_CERTIFICATE_2.getTags(), GIFT_CERTIFICATE_3.getTags());
+
+        assertEquals(expectedTags, actualTags);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readFetchesTagsWithCertificate() {
+        statistics.clear();
+        Optional<Certificate> actual = certificateDao.read(GIFT_CERTIFICATE_1.getId());
+
+        assertEquals(Optional.of(GIFT_CERTIFICATE_1.getTags()), actual.map(Certificate::getTags).map(ArrayList::new));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readAllInBatches() {
+        List<List<Integer>> actualBatches = new ArrayList<>();
+        List<List<Tag>> actualTags = new ArrayList<>();
+        certificateDao.readAllInBatches(2, batch -> {
+            actualBatches.add(batch.stream().map(Certificate::getId).collect(Collectors.toList()));
+            batch.forEach(certificate -> actualTags.add(new ArrayList<>(certificate.getTags())));
+        });
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), actualBatches);
+        assertEquals(Arrays.asList(GIFT_CERTIFICATE_1.getTags(), GIFT_CERTIFICATE_2.getTags(),
+                GIFT_CERTIFICATE_3.getTags()), actualTags);
+    }
+
+    @Test
+    void readCertificateWithParamsSortsByFieldsThenId() {
+        List<CertificateSort> sorts = Arrays.asList(new CertificateSort(CertificateSort.Field.NAME, false),
+                new CertificateSort(CertificateSort.Field.DATE, true));
+
+        List<Integer> actual = certificateDao.readCertificateWithParams(null, "certificate", null, sorts, 1, SIZE)
+                .stream()
+                .map(Certificate::getId)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(GIFT_CERTIFICATE_2.getId(), GIFT_CERTIFICATE_3.getId(),
+                GIFT_CERTIFICATE_1.getId()), actual);
+    }
+
+    @Test
+    void readCertificateWithParamsByTagAndCandidates() {
+        List<Certificate> actual = certificateDao.readCertificateWithParams(TAG_2.getName(), null,
+                Arrays.asList(GIFT_CERTIFICATE_1.getId(), GIFT_CERTIFICATE_3.getId()), Collections.emptyList(), 1, SIZE);
+
+        assertEquals(Collections.singletonList(GIFT_CERTIFICATE_1), actual);
+    }
+
+    @Test
+    @Transactional
+    void createAllWritesAudit() {
+        Tag tag = tagDao.create(new Tag("batchTagName"));
+        LocalDateTime date = LocalDateTime.parse("2021-01-01T00:00:00");
+        Certificate certificate = new Certificate(null, "batchCertificate", "batchDescription", 40.40, 4, date, date,
+                Collections.singletonList(tag));
+        certificateDao.createAll(Collections.singletonList(certificate));
+
+        AuditReader auditReader = AuditReaderFactory.get(entityManager);
+        List<Number> revisions = auditReader.getRevisions(Certificate.class, certificate.getId());
+        assertEquals(1, revisions.size());
+        assertEquals(certificate.getName(),
+                auditReader.find(Certificate.class, certificate.getId(), revisions.get(0)).getName());
+        Number bondingTagAudits = (Number) entityManager.createNativeQuery(SQL_COUNT_BONDING_TAG_AUDITS)
+                .setParameter("id", certificate.getId())
+                .getSingleResult();
+        assertEquals(1, bondingTagAudits.intValue());
+    }
+}
@@ -2,7 +2,10 @@ package com.epam.esm.repository.dao.impl;
 
 import com.epam.esm.repository.config.DaoConfig;
 import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.AuditReaderFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -11,15 +14,22 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityManager;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @AutoConfigureTestDatabase
-@SpringBootTest(classes = DaoConfig.class)
+@SpringBootTest(classes = DaoConfig.class, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml"})
 class TagDaoImplTest {
 
     @Autowired
@@ -67,6 +77,13 @@ class TagDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readAllAfter() {
+        List<Tag> actual = tagDao.readAllAfter(new PageCursor(TAG_2.getId()), 2);
+        List<Tag> expected = Arrays.asList(TAG_3, TAG_4);
+
+        assertEquals(expected, actual);
+    }
 
     @Test
     void readByName() {
@@ -77,6 +94,30 @@ class TagDaoImplTest {
 
     }
 
+    @Test
+    void readByNameAfterCreateAll() {
+        String name = "batchTagName";
+        assertEquals(Optional.empty(), tagDao.readByName(name));
+
+        tagDao.createAll(Collections.singletonList(new Tag(name)));
+
+        assertTrue(tagDao.readByName(name).isPresent());
+    }
+
+    @Test
+    void createAllWritesAudit() {
+        txTemplate.executeWithoutResult(status -> {
+            Tag tag = new Tag("auditedTagName");
+            tagDao.createAll(Collections.singletonList(tag));
+
+            AuditReader auditReader = AuditReaderFactory.get(entityManager);
+            List<Number> revisions = auditReader.getRevisions(Tag.class, tag.getId());
+            assertEquals(1, revisions.size());
+            assertEquals(tag, auditReader.find(Tag.class, tag.getId(), revisions.get(0)));
+            status.setRollbackOnly();
+        });
+    }
+
     @Test
     void readMostWidelyTagFromUserWithHighestCostOrders() {
         Tag actual = tagDao.readMostWidelyTagFromUserWithHighestCostOrders();
@@ -0,0 +1,70 @@
+package com.epam.esm.repository.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaoMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SampleDao sampleDao = proxy(new SampleDao());
+
+    private SampleDao proxy(SampleDao target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new DaoMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+
+    @Test
+    void recordsTimeAndRows() {
+        sampleDao.readAll();
+        sampleDao.readAll();
+
+        assertEquals(2, meterRegistry.get(DaoMetricsAspect.TIMER_NAME)
+                .tag("dao", "SampleDao").tag("method", "readAll").tag("outcome", DaoMetricsAspect.SUCCESS)
+                .timer().count());
+        assertEquals(6, meterRegistry.get(DaoMetricsAspect.ROWS_NAME)
+                .tag("method", "readAll").summary().totalAmount());
+    }
+
+    @Test
+    void recordsOptionalAsOneRow() {
+        sampleDao.read();
+
+        assertEquals(1, meterRegistry.get(DaoMetricsAspect.ROWS_NAME)
+                .tag("method", "read").summary().totalAmount());
+    }
+
+    @Test
+    void recordsError() {
+        assertThrows(IllegalStateException.class, sampleDao::fail);
+
+        assertEquals(1, meterRegistry.get(DaoMetricsAspect.TIMER_NAME)
+                .tag("method", "fail").tag("outcome", DaoMetricsAspect.ERROR).timer().count());
+        assertNull(meterRegistry.find(DaoMetricsAspect.ROWS_NAME).tag("method", "fail").summary());
+    }
+
+    @Repository
+    static class SampleDao {
+
+        public List<Integer> readAll() {
+            return Arrays.asList(1, 2, 3);
+        }
+
+        public Optional<Integer> read() {
+            return Optional.of(1);
+        }
+
+        public int fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.esm.repository.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountInspectorTest {
+
+    private static final String SQL = "select 1";
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.clear();
+    }
+
+    @Test
+    void inspectCountsAndKeepsStatement() {
+        QueryCounter.reset();
+
+        assertEquals(SQL, inspector.inspect(SQL));
+        inspector.inspect(SQL);
+
+        assertEquals(2, QueryCounter.count());
+    }
+
+    @Test
+    void countIsPerThread() {
+        QueryCounter.reset();
+        inspector.inspect(SQL);
+
+        CompletableFuture.runAsync(() -> inspector.inspect(SQL)).join();
+
+        assertEquals(1, QueryCounter.count());
+    }
+
+    @Test
+    void propagateCountsOnSubmittingThread() {
+        QueryCounter.reset();
+        inspector.inspect(SQL);
+
+        CompletableFuture.runAsync(QueryCounter.propagate(() -> inspector.inspect(SQL))).join();
+
+        assertEquals(2, QueryCounter.count());
+    }
+
+    @Test
+    void attachContinuesDetachedCount() {
+        QueryCounter.reset();
+        inspector.inspect(SQL);
+        AtomicInteger counter = QueryCounter.detach();
+
+        assertEquals(0, QueryCounter.count());
+        CompletableFuture.runAsync(() -> {
+            QueryCounter.attach(counter);
+            inspector.inspect(SQL);
+            QueryCounter.clear();
+        }).join();
+
+        assertEquals(2, counter.get());
+    }
+}
@@ -14,6 +14,11 @@ CREATE TABLE IF NOT EXISTS gift_certificate (
                                                    last_update_date TIMESTAMP NULL,
                                                    PRIMARY KEY (id) );
 
+CREATE INDEX gift_certificate_name_id_idx ON gift_certificate (name, id);
+CREATE INDEX gift_certificate_last_update_date_id_idx ON gift_certificate (last_update_date, id);
+CREATE INDEX gift_certificate_name_last_update_date_id_idx ON gift_certificate (name, last_update_date, id);
+CREATE INDEX gift_certificate_last_update_date_name_id_idx ON gift_certificate (last_update_date, name, id);
+
 
 CREATE TABLE IF NOT EXISTS tag (
                                      id INT NOT NULL AUTO_INCREMENT,
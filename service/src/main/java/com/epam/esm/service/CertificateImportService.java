@@ -0,0 +1,17 @@
+package com.epam.esm.service;
+
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.entity.ImportReport;
+
+import java.util.Iterator;
+
+public interface CertificateImportService {
+
+    /**
+     * Import certificates. Valid rows are committed in chunks, invalid rows are reported.
+     *
+     * @param certificates the certificates to import, read lazily
+     * @return the report with the number of imported rows and the failed rows
+     */
+    ImportReport importCertificates(Iterator<CertificateDto> certificates);
+}
@@ -4,6 +4,7 @@ import com.epam.esm.repository.dto.CertificateDto;
 import com.epam.esm.repository.entity.Certificate;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CertificateService {
 
@@ -22,6 +23,22 @@ public interface CertificateService {
      */
     List<CertificateDto> readAll(int page, int size);
 
+    /**
+     * Read page of certificates following the cursor token.
+     *
+     * @param after the cursor token, empty for the first page
+     * @param size the size of page
+     * @return the list
+     */
+    List<CertificateDto> readAllAfter(String after, int size);
+
+    /**
+     * Pass every certificate to the consumer, ordered by id, without holding them all in memory.
+     *
+     * @param consumer the consumer of certificates
+     */
+    void exportAll(Consumer<CertificateDto> consumer);
+
     /**
      * Read certificate.
      *
@@ -48,9 +65,26 @@ public interface CertificateService {
      */
     void delete(int id);
 
+    /**
+     * Search certificates. Results are ordered by the sort keys, then by id.
+     *
+     * @param tagName               the tag name, or null
+     * @param descriptionOrNamePart the name or description part, or null
+     * @param sort                  the sort keys as {@code field[,asc|desc]}, field is name or date
+     * @param page                  the page
+     * @param size                  the size
+     * @return the list of certificates
+     */
     List<CertificateDto> readCertificateWithParams(String tagName, String descriptionOrNamePart,
-                                                   String sortParameter, boolean ascending,
-                                                   int page, int size);
+                                                   List<String> sort, int page, int size);
 
     List<CertificateDto> readBySomeTags(List<String> tags, int page, int size);
+
+    /**
+     * Count certificates having all of the given tags.
+     *
+     * @param tags the tag names
+     * @return the number of matching certificates
+     */
+    long countBySomeTags(List<String> tags);
 }
@@ -10,6 +10,8 @@ public interface OrderService {
 
     List<OrderDto> readAllByUserId(int userId, int page, int size);
 
+    List<OrderDto> readAllByUserIdAfter(int userId, String after, int size);
+
     OrderDto readOrder(int orderId);
 
 
@@ -3,7 +3,9 @@ package com.epam.esm.service;
 
 import com.epam.esm.repository.dto.TagDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TagService {
 
@@ -15,6 +17,22 @@ public interface TagService {
      */
     TagDto create(TagDto tag);
 
+    /**
+     * Create tags which don't exist yet.
+     *
+     * @param tags the tags
+     * @return the existing and the created tags
+     */
+    List<TagDto> createAll(List<TagDto> tags);
+
+    /**
+     * Resolve tag names to ids with one read, creating the missing tags with one batch.
+     *
+     * @param names the tag names
+     * @return the ids by names, in the order of the names
+     */
+    Map<String, Integer> resolveNames(Collection<String> names);
+
     /**
      * Read tag.
      *
@@ -30,6 +48,15 @@ public interface TagService {
      */
     List<TagDto> readAll(int page, int size);
 
+    /**
+     * Read page of tags following the cursor token.
+     *
+     * @param after the cursor token, empty for the first page
+     * @param size the size of page
+     * @return the list
+     */
+    List<TagDto> readAllAfter(String after, int size);
+
     /**
      * Delete.
      *
@@ -3,6 +3,7 @@ package com.epam.esm.service;
 import com.epam.esm.repository.dto.UserDto;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
@@ -10,7 +11,9 @@ public interface UserService {
 
     List<UserDto> readAll(int page, int size);
 
-    UserDto saveUser(UserDto userDto);
+    List<UserDto> readAllAfter(String after, int size);
+
+    CompletableFuture<UserDto> saveUser(UserDto userDto);
 
     UserDto findByEmail(String email);
 
@@ -0,0 +1,195 @@
+package com.epam.esm.service.analytics;
+
+import com.epam.esm.repository.dao.OrderDao;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.repository.entity.UserSpending;
+import com.epam.esm.repository.entity.UserTagUsage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * In-memory summary of order spend and tag usage per user, answering the most widely used tag
+ * of the user with the highest cost of orders without aggregating the orders table.
+ * Orders are applied as they commit; a periodic rebuild from the database reconciles
+ * changes the increments don't see, such as tags replaced on an already ordered certificate.
+ */
+@Component
+public class TopSpenderTagSummary {
+
+    private final OrderDao orderDao;
+
+    /**
+     * Null until the first rebuild completes.
+     */
+    private Summary summary;
+
+    /**
+     * Updates committed while a rebuild reads, replayed on the rebuilt summary. Null when no rebuild runs.
+     */
+    private List<Consumer<Summary>> pendingUpdates;
+
+    @Autowired
+    public TopSpenderTagSummary(OrderDao orderDao) {
+        this.orderDao = orderDao;
+    }
+
+    /**
+     * Read the most widely used tag of the user with the highest cost of orders.
+     *
+     * @return the tag, or empty if the summary isn't built yet or has no tagged orders
+     */
+    public synchronized Optional<Tag> readMostWidelyTagFromUserWithHighestCostOrders() {
+        if (summary == null || summary.topSpender == null || summary.topSpender.topTag == null) {
+            return Optional.empty();
+        }
+        return Optional.of(summary.topSpender.topTag.tag);
+    }
+
+    /**
+     * Apply an order to the summary once the current transaction commits.
+     *
+     * @param userId the user id
+     * @param cost   the order cost
+     * @param tags   the tags of the ordered certificate
+     */
+    public void recordOrder(int userId, double cost, Collection<Tag> tags) {
+        afterCommit(target -> {
+            target.addSpending(userId, cost);
+            tags.forEach(tag -> target.addTagUsage(userId, tag, 1));
+        });
+    }
+
+    /**
+     * Remove a tag from the summary once the current transaction commits.
+     *
+     * @param tagId the tag id
+     */
+    public void removeTag(int tagId) {
+        afterCommit(target -> target.removeTag(tagId));
+    }
+
+    /**
+     * Rebuild the summary from the orders table. Runs at startup and then periodically.
+     * Updates committed while the grouped queries read are replayed on the rebuilt summary,
+     * so none is lost when it replaces the old one. An order committed before the read snapshot
+     * is taken is both read and replayed, and may be counted twice until the next rebuild.
+     */
+    @Scheduled(fixedDelayString = "${analytics.rebuild-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            pendingUpdates = new ArrayList<>();
+        }
+        Summary rebuilt = new Summary();
+        boolean completed = false;
+        try {
+            for (UserSpending spending : orderDao.readSpendingByUser()) {
+                rebuilt.addSpending(spending.getUserId(), spending.getTotal());
+            }
+            for (UserTagUsage usage : orderDao.readTagUsageByUser()) {
+                rebuilt.addTagUsage(usage.getUserId(), usage.getTag(), usage.getCount());
+            }
+            completed = true;
+        } finally {
+            synchronized (this) {
+                if (completed) {
+                    pendingUpdates.forEach(update -> update.accept(rebuilt));
+                    summary = rebuilt;
+                }
+                pendingUpdates = null;
+            }
+        }
+    }
+
+    private void afterCommit(Consumer<Summary> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private synchronized void apply(Consumer<Summary> update) {
+        if (pendingUpdates != null) {
+            pendingUpdates.add(update);
+        }
+        if (summary != null) {
+            update.accept(summary);
+        }
+    }
+
+    /**
+     * Spend and tag counters only grow between rebuilds, so the leaders are kept up to date
+     * by comparing against the counter that has just changed.
+     */
+    private static final class Summary {
+
+        private final Map<Integer, UserSummary> users = new HashMap<>();
+        private UserSummary topSpender;
+
+        private void addSpending(int userId, double cost) {
+            UserSummary user = user(userId);
+            user.spending += cost;
+            if (topSpender == null || user.spending > topSpender.spending) {
+                topSpender = user;
+            }
+        }
+
+        private void addTagUsage(int userId, Tag tag, long count) {
+            UserSummary user = user(userId);
+            TagCounter counter = user.tags.computeIfAbsent(tag.getId(), id -> new TagCounter(tag));
+            counter.count += count;
+            if (user.topTag == null || counter.count > user.topTag.count) {
+                user.topTag = counter;
+            }
+        }
+
+        private void removeTag(int tagId) {
+            for (UserSummary user : users.values()) {
+                if (user.tags.remove(tagId) != null && user.topTag != null && user.topTag.tag.getId() == tagId) {
+                    user.topTag = user.tags.values().stream()
+                            .max((first, second) -> Long.compare(first.count, second.count))
+                            .orElse(null);
+                }
+            }
+        }
+
+        private UserSummary user(int userId) {
+            return users.computeIfAbsent(userId, id -> new UserSummary());
+        }
+    }
+
+    private static final class UserSummary {
+
+        private final Map<Integer, TagCounter> tags = new HashMap<>();
+        private double spending;
+        private TagCounter topTag;
+    }
+
+    private static final class TagCounter {
+
+        private final Tag tag;
+        private long count;
+
+        private TagCounter(Tag tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.epam.esm.service.cache;
+
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.dto.TagDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of certificates read by id and of certificate pages read by page and size.
+ * Cached values are copied on the way out, because controllers add links to the returned dto.
+ */
+@Component
+public class CertificateCache implements MeterBinder {
+
+    public static final String BY_ID_CACHE_NAME = "certificates.byId";
+    public static final String PAGES_CACHE_NAME = "certificates.pages";
+
+    private final Cache<Integer, CertificateDto> certificates;
+    private final Cache<PageKey, List<CertificateDto>> pages;
+
+    @Autowired
+    public CertificateCache(@Value("${certificate.cache.maximum-size:1000}") long maximumSize,
+                            @Value("${certificate.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.certificates = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Read certificate from cache or load it.
+     *
+     * @param id     the certificate id
+     * @param loader the loader of missing certificate
+     * @return the certificate dto
+     */
+    public CertificateDto get(int id, Supplier<CertificateDto> loader) {
+        return copy(certificates.get(id, key -> loader.get()));
+    }
+
+    /**
+     * Read page of certificates from cache or load it.
+     *
+     * @param page   the page
+     * @param size   the size
+     * @param loader the loader of missing page
+     * @return the list of certificate dto
+     */
+    public List<CertificateDto> getPage(int page, int size, Supplier<List<CertificateDto>> loader) {
+        return pages.get(new PageKey(page, size), key -> loader.get()).stream()
+                .map(CertificateCache::copy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evict certificate and the pages containing it.
+     *
+     * @param id the certificate id
+     */
+    public void evict(int id) {
+        afterCommit(() -> {
+            certificates.invalidate(id);
+            pages.asMap().values().removeIf(page -> page.stream()
+                    .anyMatch(certificate -> Objects.equals(certificate.getId(), id)));
+        });
+    }
+
+    /**
+     * Evict all pages. Used when certificates are added or removed, since that shifts page borders.
+     */
+    public void evictPages() {
+        afterCommit(pages::invalidateAll);
+    }
+
+    /**
+     * Evict certificates and pages containing the tag.
+     *
+     * @param tagId the tag id
+     */
+    public void evictByTag(int tagId) {
+        afterCommit(() -> {
+            certificates.asMap().values().removeIf(certificate -> hasTag(certificate, tagId));
+            pages.asMap().values().removeIf(page -> page.stream()
+                    .anyMatch(certificate -> hasTag(certificate, tagId)));
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, certificates, BY_ID_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(registry, pages, PAGES_CACHE_NAME);
+    }
+
+    private static boolean hasTag(CertificateDto certificate, int tagId) {
+        return certificate.getTagsDto() != null && certificate.getTagsDto().stream()
+                .map(TagDto::getId)
+                .anyMatch(id -> Objects.equals(id, tagId));
+    }
+
+    private static CertificateDto copy(CertificateDto certificate) {
+        return certificate.toEntity().toDto();
+    }
+
+    /**
+     * Runs eviction after commit so a concurrent read can't put back the state the transaction replaces.
+     */
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private static final class PageKey {
+
+        private final int page;
+        private final int size;
+
+        private PageKey(int page, int size) {
+            this.page = page;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageKey pageKey = (PageKey) o;
+            return page == pageKey.page && size == pageKey.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * page + size;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.esm.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of user details by email. Unknown emails are cached too, so repeated
+ * logins with them don't reach the database. Cached details are copied on the way out,
+ * because the authentication erases the credentials of the returned instance.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "users.details";
+
+    private final Cache<String, Optional<UserDetails>> userDetails;
+
+    @Autowired
+    public UserDetailsCache(@Value("${user.details.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${user.details.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.userDetails = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Read user details from cache or load them.
+     *
+     * @param email  the email of user
+     * @param loader the loader of missing user details
+     * @return the user details or empty if there is no user with such email
+     */
+    public Optional<UserDetails> get(String email, Function<String, Optional<UserDetails>> loader) {
+        return userDetails.get(email, loader)
+                .map(details -> User.withUserDetails(details).build());
+    }
+
+    /**
+     * Evict user details once the current transaction commits.
+     *
+     * @param email the email of user
+     */
+    public void evict(String email) {
+        afterCommit(() -> userDetails.invalidate(email));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userDetails, CACHE_NAME);
+    }
+
+    /**
+     * Runs eviction after commit, so a login between the eviction and the commit
+     * can't cache the user as unknown again.
+     */
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.epam.esm.service.exception;
+
+public class ServiceOverloadException extends RuntimeException {
+
+    public ServiceOverloadException(String message) {
+        super(message);
+    }
+
+    public ServiceOverloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
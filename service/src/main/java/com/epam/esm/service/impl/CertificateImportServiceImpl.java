@@ -0,0 +1,196 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.dto.TagDto;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.ImportReport;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.service.CertificateImportService;
+import com.epam.esm.service.TagService;
+import com.epam.esm.service.cache.CertificateCache;
+import com.epam.esm.service.search.CertificateTagIndex;
+import com.epam.esm.service.search.CertificateTextIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Imports certificates in chunks, each chunk in its own transaction, so a failed chunk
+ * doesn't roll back the chunks before it. Not {@code @Transactional} on purpose.
+ */
+@Service
+public class CertificateImportServiceImpl implements CertificateImportService {
+
+    private final CertificateDao certificateDao;
+    private final TagService tagService;
+    private final CertificateCache certificateCache;
+    private final CertificateTextIndex certificateTextIndex;
+    private final CertificateTagIndex certificateTagIndex;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public CertificateImportServiceImpl(CertificateDao certificateDao, TagService tagService,
+                                        CertificateCache certificateCache, CertificateTextIndex certificateTextIndex,
+                                        CertificateTagIndex certificateTagIndex, Validator validator,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${certificate.import.chunk-size:1000}") int chunkSize) {
+        this.certificateDao = certificateDao;
+        this.tagService = tagService;
+        this.certificateCache = certificateCache;
+        this.certificateTextIndex = certificateTextIndex;
+        this.certificateTagIndex = certificateTagIndex;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReport importCertificates(Iterator<CertificateDto> certificates) {
+        ImportReport report = new ImportReport();
+        Map<String, Tag> knownTags = new HashMap<>();
+        List<CertificateDto> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkRows = new ArrayList<>(chunkSize);
+        int row = 0;
+        while (true) {
+            CertificateDto certificateDto;
+            try {
+                if (!certificates.hasNext()) {
+                    break;
+                }
+                certificateDto = certificates.next();
+            } catch (RuntimeException e) {
+                report.addFailure(row + 1, "Unreadable row, import stopped: " + e.getMessage());
+                break;
+            }
+            row++;
+            String violation = validate(certificateDto);
+            if (violation != null) {
+                report.addFailure(row, violation);
+                continue;
+            }
+            chunk.add(certificateDto);
+            chunkRows.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, chunkRows, knownTags, report);
+            }
+        }
+        importChunk(chunk, chunkRows, knownTags, report);
+        if (report.getImported() > 0) {
+            certificateCache.evictPages();
+        }
+        return report;
+    }
+
+    private void importChunk(List<CertificateDto> chunk, List<Integer> chunkRows, Map<String, Tag> knownTags,
+                             ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Tag> resolvedTags = new HashMap<>(knownTags);
+            transactionTemplate.executeWithoutResult(status -> {
+                resolveTags(chunk, resolvedTags);
+                LocalDateTime timeNow = now();
+                List<Certificate> entities = chunk.stream()
+                        .map(certificateDto -> toEntity(certificateDto, resolvedTags, timeNow))
+                        .collect(Collectors.toList());
+                certificateDao.createAll(entities);
+                entities.forEach(certificate -> {
+                    certificateTextIndex.put(certificate.getId(), certificate.getName(), certificate.getDescription());
+                    certificateTagIndex.put(certificate.getId(), certificate.getTags());
+                });
+            });
+            knownTags.putAll(resolvedTags);
+            report.addImported(chunk.size());
+        } catch (RuntimeException e) {
+            chunkRows.forEach(row -> report.addFailure(row, "Chunk rolled back: " + e.getMessage()));
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private void resolveTags(List<CertificateDto> chunk, Map<String, Tag> resolvedTags) {
+        Set<String> missingNames = chunk.stream()
+                .flatMap(certificateDto -> tagNames(certificateDto).stream())
+                .filter(name -> !resolvedTags.containsKey(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (missingNames.isEmpty()) {
+            return;
+        }
+        tagService.resolveNames(missingNames)
+                .forEach((name, id) -> resolvedTags.put(name, new Tag(id, name)));
+    }
+
+    private Certificate toEntity(CertificateDto certificateDto, Map<String, Tag> resolvedTags, LocalDateTime timeNow) {
+        Certificate certificate = new Certificate();
+        certificate.setName(certificateDto.getName());
+        certificate.setDescription(certificateDto.getDescription());
+        certificate.setPrice(certificateDto.getPrice());
+        certificate.setDuration(certificateDto.getDuration());
+        certificate.setCreateDate(timeNow);
+        certificate.setLastUpdateDate(timeNow);
+        certificate.setTags(tagNames(certificateDto).stream()
+                .map(resolvedTags::get)
+                .collect(Collectors.toList()));
+        return certificate;
+    }
+
+    private static List<String> tagNames(CertificateDto certificateDto) {
+        if (certificateDto.getTagsDto() == null) {
+            return Collections.emptyList();
+        }
+        return certificateDto.getTagsDto().stream()
+                .map(TagDto::getName)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private String validate(CertificateDto certificateDto) {
+        if (certificateDto == null) {
+            return "Empty row";
+        }
+        if (certificateDto.getName() == null || certificateDto.getDescription() == null
+                || certificateDto.getPrice() == null || certificateDto.getDuration() == null) {
+            return "Certificate name, description, price and duration are required";
+        }
+        if (certificateDto.getTagsDto() != null && certificateDto.getTagsDto().stream()
+                .anyMatch(tagDto -> tagDto == null || tagDto.getName() == null)) {
+            return "Tag name is required";
+        }
+        List<String> violations = validator.validate(certificateDto).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toList());
+        if (certificateDto.getTagsDto() != null) {
+            certificateDto.getTagsDto().forEach(tagDto -> validator.validate(tagDto).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .forEach(violations::add));
+        }
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining("; "));
+    }
+}
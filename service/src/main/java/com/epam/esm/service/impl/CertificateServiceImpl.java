@@ -3,16 +3,30 @@ package com.epam.esm.service.impl;
 import com.epam.esm.repository.dao.CertificateDao;
 import com.epam.esm.repository.dto.CertificateDto;
 import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
+import com.epam.esm.repository.entity.PageCursor;
+import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.service.CertificateService;
+import com.epam.esm.service.TagService;
+import com.epam.esm.service.cache.CertificateCache;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.ResourceException;
+import com.epam.esm.service.search.CertificateTagIndex;
+import com.epam.esm.service.search.CertificateTextIndex;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static java.time.LocalDateTime.now;
@@ -22,11 +36,27 @@ import static java.time.LocalDateTime.now;
 public class CertificateServiceImpl implements CertificateService {
 
     public static final int ONE_UPDATED_ROW = 1;
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * Above this many candidates an {@code IN} list costs more than the {@code LIKE} scan.
+     */
+    private static final int MAX_INDEX_CANDIDATES = 1000;
     private final CertificateDao certificateDao;
+    private final CertificateCache certificateCache;
+    private final TagService tagService;
+    private final CertificateTextIndex certificateTextIndex;
+    private final CertificateTagIndex certificateTagIndex;
 
     @Autowired
-    public CertificateServiceImpl(CertificateDao certificateDao) {
+    public CertificateServiceImpl(CertificateDao certificateDao, CertificateCache certificateCache,
+                                  TagService tagService, CertificateTextIndex certificateTextIndex,
+                                  CertificateTagIndex certificateTagIndex) {
         this.certificateDao = certificateDao;
+        this.certificateCache = certificateCache;
+        this.tagService = tagService;
+        this.certificateTextIndex = certificateTextIndex;
+        this.certificateTagIndex = certificateTagIndex;
     }
 
     @Override
@@ -37,22 +67,56 @@ public class CertificateServiceImpl implements CertificateService {
         LocalDateTime timeNow = now();
         certificateDto.setCreateDate(timeNow);
         certificateDto.setLastUpdateDate(timeNow);
-        Certificate createdCertificate = certificateDao.create(certificateDto.toEntity());
-        return createdCertificate.toDto();
+        Certificate certificate = certificateDto.toEntity();
+        List<Tag> tags = resolveTags(certificate.getTags());
+        certificate.setTags(tags);
+        Certificate createdCertificate = certificateDao.create(certificate);
+        certificateCache.evictPages();
+        certificateTextIndex.put(createdCertificate.getId(), certificate.getName(), certificate.getDescription());
+        certificateTagIndex.put(createdCertificate.getId(), tags);
+        return new Certificate(createdCertificate.getId(), certificate.getName(), certificate.getDescription(),
+                certificate.getPrice(), certificate.getDuration(), certificate.getCreateDate(),
+                certificate.getLastUpdateDate(), tags).toDto();
+    }
+
+    private List<Tag> resolveTags(List<Tag> tags) {
+        Map<String, Integer> ids = tagService.resolveNames(tags.stream()
+                .map(Tag::getName)
+                .collect(Collectors.toList()));
+        return ids.entrySet().stream()
+                .map(tag -> new Tag(tag.getValue(), tag.getKey()))
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<CertificateDto> readAll(int page, int size) {
-        List<Certificate> certificates = certificateDao.readAll(page, size);
+        return certificateCache.getPage(page, size, () -> certificateDao.readAll(page, size).stream()
+                .map(Certificate::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<CertificateDto> readAllAfter(String after, int size) {
+        List<Certificate> certificates = certificateDao.readAllAfter(PageCursor.decode(after), size);
         return certificates.stream()
                 .map(Certificate::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<CertificateDto> consumer) {
+        certificateDao.readAllInBatches(EXPORT_BATCH_SIZE, certificates -> certificates.stream()
+                .map(Certificate::toDto)
+                .forEach(consumer));
+    }
+
     @Override
     public CertificateDto read(int id) {
-        Optional<Certificate> certificate = certificateDao.read(id);
-        return certificate.orElseThrow(ResourceException.notFoundWithCertificateId(id)).toDto();
+        return certificateCache.get(id, () -> {
+            Optional<Certificate> certificate = certificateDao.read(id);
+            return certificate.orElseThrow(ResourceException.notFoundWithCertificateId(id)).toDto();
+        });
     }
 
     @Override
@@ -63,7 +127,12 @@ public class CertificateServiceImpl implements CertificateService {
         certificateDto.setId(id);
         CertificateDto actualCertificateDto = fillingFields(certificateDto);
         actualCertificateDto.setLastUpdateDate(LocalDateTime.now());
-        certificateDao.update(certificateDto.toEntity());
+        Certificate certificate = certificateDto.toEntity();
+        certificate.setTags(resolveTags(certificate.getTags()));
+        certificateDao.update(certificate);
+        certificateCache.evict(id);
+        certificateTextIndex.put(id, certificate.getName(), certificate.getDescription());
+        certificateTagIndex.put(id, certificate.getTags());
     }
 
     private CertificateDto fillingFields(CertificateDto certificateDto) {
@@ -100,30 +169,100 @@ public class CertificateServiceImpl implements CertificateService {
         if (numberOfUpdatedRows != ONE_UPDATED_ROW) {
             throw ResourceException.validationWithCertificateId(id).get();
         }
+        certificateCache.evict(id);
+        certificateCache.evictPages();
+        certificateTextIndex.remove(id);
+        certificateTagIndex.removeCertificate(id);
     }
 
     @Override
     public List<CertificateDto> readCertificateWithParams(String tagName, String descriptionOrNamePart,
-                                                          String sortParameter, boolean ascending,
-                                                          int page, int size) {
-        List<Certificate> certificates = certificateDao.readCertificateWithParams(tagName, descriptionOrNamePart,
-                sortParameter, ascending, page, size);
-        for(Certificate certificate : certificates) {
-            certificate.setTags(certificateDao.readCertificateTags(certificate.getId()));
-        }
+                                                          List<String> sort, int page, int size) {
+        List<CertificateSort> sorts = parseSort(sort);
+        Optional<List<Integer>> candidateIds = certificateTextIndex.search(descriptionOrNamePart)
+                .filter(ids -> ids.size() <= MAX_INDEX_CANDIDATES);
+        List<Certificate> certificates = candidateIds.isPresent()
+                ? certificateDao.readCertificateWithParams(tagName, null, candidateIds.get(), sorts, page, size)
+                : certificateDao.readCertificateWithParams(tagName, descriptionOrNamePart, null, sorts, page, size);
         return certificates.stream()
                 .map(Certificate::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Parses {@code field[,asc|desc]} values. Direction defaults to ascending; a repeated field keeps its first direction.
+     */
+    private static List<CertificateSort> parseSort(List<String> sort) {
+        List<CertificateSort> sorts = new ArrayList<>();
+        if (sort == null) {
+            return sorts;
+        }
+        Set<CertificateSort.Field> fields = EnumSet.noneOf(CertificateSort.Field.class);
+        for (String value : sort) {
+            String[] parts = value.split(",");
+            if (parts.length > 2) {
+                throw new IncorrectParameterException("Incorrect sort parameter " + value);
+            }
+            CertificateSort.Field field = CertificateSort.Field.fromParameter(parts[0].trim())
+                    .orElseThrow(() -> new IncorrectParameterException("Unknown sort field " + parts[0]));
+            boolean ascending = parts.length == 1 || isAscending(parts[1].trim());
+            if (fields.add(field)) {
+                sorts.add(new CertificateSort(field, ascending));
+            }
+        }
+        return sorts;
+    }
+
+    private static boolean isAscending(String direction) {
+        if ("asc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        throw new IncorrectParameterException("Unknown sort direction " + direction);
+    }
+
     @Override
     public List<CertificateDto> readBySomeTags(List<String> tagsName, int page, int size) {
         if (tagsName == null) {
             throw new IncorrectParameterException("Null parameter in read certificate by some tags");
         }
+        if (tagsName.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Optional<RoaringBitmap> certificateIds = certificateTagIndex.search(tagsName);
+        if (certificateIds.isPresent()) {
+            return certificateDao.readByIds(pageOf(certificateIds.get(), page, size)).stream()
+                    .map(Certificate::toDto)
+                    .collect(Collectors.toList());
+        }
 
         return certificateDao.readCertificatesByTagNames(tagsName, page, size).stream()
                 .map(Certificate::toDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public long countBySomeTags(List<String> tagsName) {
+        if (tagsName == null) {
+            throw new IncorrectParameterException("Null parameter in count certificates by some tags");
+        }
+        if (tagsName.isEmpty()) {
+            return 0;
+        }
+        return certificateTagIndex.search(tagsName)
+                .map(RoaringBitmap::getLongCardinality)
+                .orElseGet(() -> certificateDao.countCertificatesByTagNames(tagsName));
+    }
+
+    private static List<Integer> pageOf(RoaringBitmap certificateIds, int page, int size) {
+        long first = Math.max(0L, (long) (page - 1) * size);
+        long last = Math.min(first + size, certificateIds.getLongCardinality());
+        List<Integer> ids = new ArrayList<>();
+        for (long position = first; position < last; position++) {
+            ids.add(certificateIds.select((int) position));
+        }
+        return ids;
+    }
 }
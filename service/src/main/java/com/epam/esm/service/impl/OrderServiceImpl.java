@@ -6,8 +6,10 @@ import com.epam.esm.repository.dao.UserDao;
 import com.epam.esm.repository.dto.OrderDto;
 import com.epam.esm.repository.entity.Certificate;
 import com.epam.esm.repository.entity.Order;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.User;
 import com.epam.esm.service.OrderService;
+import com.epam.esm.service.analytics.TopSpenderTagSummary;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.ResourceException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,13 +29,15 @@ public class OrderServiceImpl implements OrderService {
     private final UserDao userDao;
     private final OrderDao orderDao;
     private final CertificateDao certificateDao;
+    private final TopSpenderTagSummary topSpenderTagSummary;
 
     @Autowired
-    public OrderServiceImpl(
-            UserDao userDao, OrderDao orderDao, CertificateDao certificateDao) {
+    public OrderServiceImpl(UserDao userDao, OrderDao orderDao, CertificateDao certificateDao,
+                            TopSpenderTagSummary topSpenderTagSummary) {
         this.userDao = userDao;
         this.orderDao = orderDao;
         this.certificateDao = certificateDao;
+        this.topSpenderTagSummary = topSpenderTagSummary;
     }
 
     @Override
@@ -51,8 +56,10 @@ public class OrderServiceImpl implements OrderService {
         }
         orderDto.setCreateDate(LocalDateTime.now());
         orderDto.setUserDto(optionalUser.get().toDto());
-        Order order = orderDto.toEntity();
-        return orderDao.create(order).toDto();
+        Order order = orderDao.create(orderDto.toEntity());
+        topSpenderTagSummary.recordOrder(optionalUser.get().getId(), order.getCost(),
+                new ArrayList<>(optionalCertificate.get().getTags()));
+        return order.toDto();
     }
 
     @Override
@@ -67,6 +74,18 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<OrderDto> readAllByUserIdAfter(int userId, String after, int size) {
+        Optional<User> optionalUser = userDao.read(userId);
+        if (optionalUser.isEmpty()) {
+            throw ResourceException.notFoundWithUser(userId).get();
+        }
+
+        return orderDao.readAllByUserIdAfter(userId, PageCursor.decode(after), size).stream()
+                .map(Order::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public OrderDto readOrder(int orderId) {
         Optional<Order> order = orderDao.readOrder(orderId);
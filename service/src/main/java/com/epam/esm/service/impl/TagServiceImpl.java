@@ -4,16 +4,28 @@ package com.epam.esm.service.impl;
 import com.epam.esm.repository.dao.CertificateDao;
 import com.epam.esm.repository.dao.TagDao;
 import com.epam.esm.repository.dto.TagDto;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.service.TagService;
+import com.epam.esm.service.analytics.TopSpenderTagSummary;
+import com.epam.esm.service.cache.CertificateCache;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.ResourceException;
+import com.epam.esm.service.search.CertificateTagIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,11 +34,18 @@ public class TagServiceImpl implements TagService {
 
     private final TagDao tagDao;
     private final CertificateDao certificateDao;
+    private final CertificateCache certificateCache;
+    private final TopSpenderTagSummary topSpenderTagSummary;
+    private final CertificateTagIndex certificateTagIndex;
 
     @Autowired
-    public TagServiceImpl(TagDao tagDao, CertificateDao certificateDao) {
+    public TagServiceImpl(TagDao tagDao, CertificateDao certificateDao, CertificateCache certificateCache,
+                          TopSpenderTagSummary topSpenderTagSummary, CertificateTagIndex certificateTagIndex) {
         this.tagDao = tagDao;
         this.certificateDao = certificateDao;
+        this.certificateCache = certificateCache;
+        this.topSpenderTagSummary = topSpenderTagSummary;
+        this.certificateTagIndex = certificateTagIndex;
     }
 
     @Override
@@ -38,6 +57,55 @@ public class TagServiceImpl implements TagService {
         return existingTag.orElseGet(() -> tagDao.create(inputTag.toEntity())).toDto();
     }
 
+    @Override
+    public List<TagDto> createAll(List<TagDto> tags) {
+        if (tags == null) {
+            throw new IncorrectParameterException("Null parameter in create tags");
+        }
+        List<String> names = tags.stream()
+                .map(TagDto::getName)
+                .collect(Collectors.toList());
+        return resolveTags(names).values().stream()
+                .distinct()
+                .map(Tag::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Integer> resolveNames(Collection<String> names) {
+        Map<String, Integer> idsByNames = new LinkedHashMap<>();
+        resolveTags(names).forEach((name, tag) -> idsByNames.put(name, tag.getId()));
+        return idsByNames;
+    }
+
+    /**
+     * Names are matched ignoring case, as the MySQL collation compares them,
+     * so "spa" resolves to an existing "Spa" and "Spa" with "spa" creates one tag.
+     */
+    private Map<String, Tag> resolveTags(Collection<String> names) {
+        if (names == null || names.stream().anyMatch(name -> name == null || name.isEmpty())) {
+            throw new IncorrectParameterException("Null or empty tag name in resolve tag names");
+        }
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        Map<String, Tag> tags = new HashMap<>();
+        tagDao.readByNames(distinctNames)
+                .forEach(tag -> tags.putIfAbsent(normalize(tag.getName()), tag));
+        Map<String, Tag> missingTags = new LinkedHashMap<>();
+        distinctNames.stream()
+                .filter(name -> !tags.containsKey(normalize(name)))
+                .forEach(name -> missingTags.putIfAbsent(normalize(name), new Tag(name)));
+        tagDao.createAll(new ArrayList<>(missingTags.values()))
+                .forEach(tag -> tags.put(normalize(tag.getName()), tag));
+
+        Map<String, Tag> tagsByNames = new LinkedHashMap<>();
+        distinctNames.forEach(name -> tagsByNames.put(name, tags.get(normalize(name))));
+        return tagsByNames;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public TagDto read(int id) {
         Optional<Tag> tag = tagDao.read(id);
@@ -52,15 +120,28 @@ public class TagServiceImpl implements TagService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<TagDto> readAllAfter(String after, int size) {
+        List<Tag> entityList = tagDao.readAllAfter(PageCursor.decode(after), size);
+        return entityList.stream()
+                .map(Tag::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void delete(int id) {
         certificateDao.deleteBondingTagsByTagId(id);
         tagDao.delete(id);
+        certificateCache.evictByTag(id);
+        topSpenderTagSummary.removeTag(id);
+        certificateTagIndex.removeTag(id);
     }
 
     @Override
     public TagDto readMostWidelyTagFromUserWithHighestCostOrders() {
-        return tagDao.readMostWidelyTagFromUserWithHighestCostOrders().toDto();
+        return topSpenderTagSummary.readMostWidelyTagFromUserWithHighestCostOrders()
+                .orElseGet(tagDao::readMostWidelyTagFromUserWithHighestCostOrders)
+                .toDto();
     }
 
 }
@@ -2,6 +2,7 @@ package com.epam.esm.service.impl;
 
 import com.epam.esm.repository.dao.UserDao;
 import com.epam.esm.repository.entity.User;
+import com.epam.esm.service.cache.UserDetailsCache;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.NoSuchEntityException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,12 +20,14 @@ import java.util.Optional;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserDao userDao;
+    private final UserDetailsCache userDetailsCache;
 
     private static final String ROLE_PREFIX = "ROLE_";
 
     @Autowired
-    public UserDetailsServiceImpl(UserDao userDao) {
+    public UserDetailsServiceImpl(UserDao userDao, UserDetailsCache userDetailsCache) {
         this.userDao = userDao;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -33,15 +36,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new IncorrectParameterException("Null parameter in load user by username");
         }
 
-        Optional<User> user = userDao.findByEmail(email);
-        if (user.isEmpty()) {
-            throw new NoSuchEntityException("No user with such email");
-        }
-
-        Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(ROLE_PREFIX
-                + user.get().getRole().toString()));
+        return userDetailsCache.get(email, this::findUserDetails)
+                .orElseThrow(() -> new NoSuchEntityException("No user with such email"));
+    }
 
-        return new org.springframework.security.core.userdetails.User(user.get().getEmail(),
-                user.get().getPassword(), authorities);
+    private Optional<UserDetails> findUserDetails(String email) {
+        Optional<User> user = userDao.findByEmail(email);
+        return user.map(foundUser -> {
+            Collection<SimpleGrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(ROLE_PREFIX
+                    + foundUser.getRole().toString()));
+            return new org.springframework.security.core.userdetails.User(foundUser.getEmail(),
+                    foundUser.getPassword(), authorities);
+        });
     }
 }
@@ -2,32 +2,53 @@ package com.epam.esm.service.impl;
 
 import com.epam.esm.repository.dao.UserDao;
 import com.epam.esm.repository.dto.UserDto;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Role;
 import com.epam.esm.repository.entity.User;
 import com.epam.esm.service.UserService;
+import com.epam.esm.service.cache.UserDetailsCache;
 import com.epam.esm.service.exception.IncorrectParameterException;
 import com.epam.esm.service.exception.NoSuchEntityException;
 import com.epam.esm.service.exception.ResourceException;
+import com.epam.esm.service.security.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_EXISTS_MESSAGE = "User with such email is exist";
+
     private final UserDao userDao;
-    private final BCryptPasswordEncoder bCryptPasswordEncode;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor saveExecutor;
 
+    /**
+     * @param saveExecutor runs the insert once the password is hashed, so it doesn't hold a hashing thread
+     */
     @Autowired
-    public UserServiceImpl(UserDao userDao, BCryptPasswordEncoder bCryptPasswordEncode) {
+    public UserServiceImpl(UserDao userDao, PasswordHashingService passwordHashingService,
+                           UserDetailsCache userDetailsCache, PlatformTransactionManager transactionManager,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor saveExecutor) {
         this.userDao = userDao;
-        this.bCryptPasswordEncode = bCryptPasswordEncode;
+        this.passwordHashingService = passwordHashingService;
+        this.userDetailsCache = userDetailsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.saveExecutor = saveExecutor;
     }
 
     @Override
@@ -45,19 +66,37 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserDto saveUser(UserDto userDto) {
+    public List<UserDto> readAllAfter(String after, int size) {
+        List<User> users = userDao.readAllAfter(PageCursor.decode(after), size);
+        return users.stream()
+                .map(User::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletableFuture<UserDto> saveUser(UserDto userDto) {
         if (userDto == null) {
             throw new IncorrectParameterException("Null parameter in save user");
         }
 
-        boolean isUserExist = userDao.findByEmail(userDto.getEmail()).isPresent();
-        if (isUserExist) {
-            throw new IncorrectParameterException("User with such email is exist");
-        }
+        // Fails fast, before a hash is spent on the request
+        checkEmailIsFree(userDto.getEmail());
 
-        userDto.setPassword(bCryptPasswordEncode.encode(userDto.getPassword()));
-        userDto.setRole(Role.USER);
-        return userDao.saveUser(userDto.toEntity()).toDto();
+        return passwordHashingService.encode(userDto.getPassword())
+                .thenApplyAsync(encodedPassword -> transactionTemplate.execute(status -> {
+                    checkEmailIsFree(userDto.getEmail());
+                    userDto.setPassword(encodedPassword);
+                    userDto.setRole(Role.USER);
+                    UserDto savedUser = userDao.saveUser(userDto.toEntity()).toDto();
+                    userDetailsCache.evict(savedUser.getEmail());
+                    return savedUser;
+                }), saveExecutor);
+    }
+
+    private void checkEmailIsFree(String email) {
+        if (userDao.findByEmail(email).isPresent()) {
+            throw new IncorrectParameterException(EMAIL_EXISTS_MESSAGE);
+        }
     }
 
     @Override
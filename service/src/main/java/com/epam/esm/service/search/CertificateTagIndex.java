@@ -0,0 +1,285 @@
+package com.epam.esm.service.search;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.Tag;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Tag to certificate id postings kept as compressed bitmaps. Finding certificates having
+ * all of several tags is an intersection of their bitmaps instead of a grouped join over
+ * {@code gift_certificate_m2m_tag}. Tag names are compared ignoring case, as the MySQL collation does.
+ */
+@Component
+public class CertificateTagIndex implements MeterBinder {
+
+    public static final String MEMORY_METRIC = "certificate.tag.index.memory";
+    public static final String TAGS_METRIC = "certificate.tag.index.tags";
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final CertificateDao certificateDao;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Null until the first build completes.
+     */
+    private Index index;
+
+    /**
+     * Updates committed while a build is scanning, replayed on the built index. Null when no build runs.
+     */
+    private List<Consumer<Index>> pendingUpdates;
+
+    @Autowired
+    public CertificateTagIndex(CertificateDao certificateDao) {
+        this.certificateDao = certificateDao;
+    }
+
+    /**
+     * Build the index from all certificates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index built = new Index();
+        boolean completed = false;
+        try {
+            certificateDao.readAllInBatches(BUILD_BATCH_SIZE, certificates -> certificates.forEach(certificate ->
+                    built.put(certificate.getId(), certificate.getTags())));
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (completed) {
+                    pendingUpdates.forEach(update -> update.accept(built));
+                    built.optimize();
+                    index = built;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Find ids of certificates having all the tags.
+     *
+     * @param tagNames the tag names
+     * @return the ascending certificate ids, or empty if the index isn't built
+     */
+    public Optional<RoaringBitmap> search(Collection<String> tagNames) {
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            return Optional.of(index.search(tagNames));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace certificate tags in the index once the current transaction commits.
+     *
+     * @param certificateId the certificate id
+     * @param tags          the certificate tags
+     */
+    public void put(int certificateId, Collection<Tag> tags) {
+        List<Tag> copy = new ArrayList<>(tags);
+        afterCommit(target -> target.put(certificateId, copy));
+    }
+
+    /**
+     * Remove certificate from the index once the current transaction commits.
+     *
+     * @param certificateId the certificate id
+     */
+    public void removeCertificate(int certificateId) {
+        afterCommit(target -> target.removeCertificate(certificateId));
+    }
+
+    /**
+     * Remove tag from the index once the current transaction commits.
+     *
+     * @param tagId the tag id
+     */
+    public void removeTag(int tagId) {
+        afterCommit(target -> target.removeTag(tagId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(MEMORY_METRIC, this, CertificateTagIndex::sizeInBytes)
+                .description("Serialized size of the tag bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(TAGS_METRIC, this, CertificateTagIndex::tagCount)
+                .description("Number of indexed tags")
+                .register(registry);
+    }
+
+    private double sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double tagCount() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.certificatesByTag.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<Index> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(Consumer<Index> update) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            if (index != null) {
+                update.accept(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String tagName) {
+        return tagName.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Index {
+
+        private final Map<String, RoaringBitmap> certificatesByTag = new HashMap<>();
+        private final Map<Integer, String> tagNamesById = new HashMap<>();
+
+        /**
+         * Tag names of each certificate, so replacing or removing it touches only its own bitmaps.
+         */
+        private final Map<Integer, Set<String>> tagNamesByCertificate = new HashMap<>();
+
+        private void put(int certificateId, Collection<Tag> tags) {
+            removeCertificate(certificateId);
+            if (tags == null || tags.isEmpty()) {
+                return;
+            }
+            Set<String> names = new HashSet<>();
+            for (Tag tag : tags) {
+                String name = normalize(tag.getName());
+                tagNamesById.put(tag.getId(), name);
+                certificatesByTag.computeIfAbsent(name, key -> new RoaringBitmap()).add(certificateId);
+                names.add(name);
+            }
+            tagNamesByCertificate.put(certificateId, names);
+        }
+
+        private void removeCertificate(int certificateId) {
+            Set<String> names = tagNamesByCertificate.remove(certificateId);
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                RoaringBitmap certificates = certificatesByTag.get(name);
+                if (certificates != null) {
+                    certificates.remove(certificateId);
+                }
+            }
+        }
+
+        private void removeTag(int tagId) {
+            String name = tagNamesById.remove(tagId);
+            if (name == null) {
+                return;
+            }
+            RoaringBitmap certificates = certificatesByTag.remove(name);
+            if (certificates != null) {
+                certificates.forEach((int certificateId) -> tagNamesByCertificate.get(certificateId).remove(name));
+            }
+        }
+
+        /**
+         * Intersects from the smallest bitmap, so the result never grows past it.
+         */
+        private RoaringBitmap search(Collection<String> tagNames) {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            for (String tagName : new LinkedHashSet<>(tagNames)) {
+                RoaringBitmap certificates = certificatesByTag.get(normalize(tagName));
+                if (certificates == null) {
+                    return new RoaringBitmap();
+                }
+                bitmaps.add(certificates);
+            }
+            if (bitmaps.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap result = bitmaps.get(0).clone();
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result.and(bitmaps.get(i));
+            }
+            return result;
+        }
+
+        private void optimize() {
+            certificatesByTag.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        private long sizeInBytes() {
+            return certificatesByTag.values().stream()
+                    .mapToLong(RoaringBitmap::getLongSizeInBytes)
+                    .sum();
+        }
+    }
+}
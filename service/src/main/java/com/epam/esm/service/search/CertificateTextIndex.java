@@ -0,0 +1,241 @@
+package com.epam.esm.service.search;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram inverted index over certificate names and descriptions. Answers case-insensitive
+ * substring search, which a database can only serve with {@code LIKE '%part%'} over the whole table.
+ * Candidates from the posting lists are checked against the indexed text, so the result is exact.
+ */
+@Component
+public class CertificateTextIndex {
+
+    /**
+     * Parts shorter than this have no trigram and can't be answered by the index.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final CertificateDao certificateDao;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Null until the first build completes.
+     */
+    private Index index;
+
+    /**
+     * Updates committed while a build is scanning, replayed on the built index. Null when no build runs.
+     */
+    private List<Consumer<Index>> pendingUpdates;
+
+    @Autowired
+    public CertificateTextIndex(CertificateDao certificateDao) {
+        this.certificateDao = certificateDao;
+    }
+
+    /**
+     * Build the index from all certificates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index built = new Index();
+        boolean completed = false;
+        try {
+            certificateDao.readAllInBatches(BUILD_BATCH_SIZE, certificates -> certificates.forEach(certificate ->
+                    built.put(certificate.getId(), certificate.getName(), certificate.getDescription())));
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (completed) {
+                    pendingUpdates.forEach(update -> update.accept(built));
+                    index = built;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Find ids of certificates whose name or description contains the part, ignoring case.
+     *
+     * @param part the name or description part
+     * @return the ascending certificate ids, or empty if the index isn't built or the part is too short
+     */
+    public Optional<List<Integer>> search(String part) {
+        if (part == null || part.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            return Optional.of(index.search(normalize(part)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index certificate once the current transaction commits.
+     *
+     * @param id          the certificate id
+     * @param name        the certificate name
+     * @param description the certificate description
+     */
+    public void put(int id, String name, String description) {
+        afterCommit(target -> target.put(id, name, description));
+    }
+
+    /**
+     * Remove certificate from the index once the current transaction commits.
+     *
+     * @param id the certificate id
+     */
+    public void remove(int id) {
+        afterCommit(target -> target.remove(id));
+    }
+
+    private void afterCommit(Consumer<Index> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(Consumer<Index> update) {
+        lock.writeLock().lock();
+        try {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+            if (index != null) {
+                update.accept(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Index {
+
+        private final Map<String, Set<Integer>> postings = new HashMap<>();
+        private final Map<Integer, Document> documents = new HashMap<>();
+
+        private void put(int id, String name, String description) {
+            remove(id);
+            Document document = new Document(normalize(name), normalize(description));
+            documents.put(id, document);
+            document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id));
+        }
+
+        private void remove(int id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String gram : document.grams()) {
+                Set<Integer> ids = postings.get(gram);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        /**
+         * Scans the shortest posting list and keeps the ids present in all other lists
+         * whose text really contains the part.
+         */
+        private List<Integer> search(String part) {
+            List<Set<Integer>> lists = new ArrayList<>();
+            for (String gram : grams(part)) {
+                Set<Integer> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Set<Integer>> others = lists.subList(1, lists.size());
+            return lists.get(0).stream()
+                    .filter(id -> others.stream().allMatch(ids -> ids.contains(id)))
+                    .filter(id -> documents.get(id).contains(part))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static final class Document {
+
+        private final String name;
+        private final String description;
+
+        private Document(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = CertificateTextIndex.grams(name);
+            grams.addAll(CertificateTextIndex.grams(description));
+            return grams;
+        }
+
+        private boolean contains(String part) {
+            return name.contains(part) || description.contains(part);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.epam.esm.service.security;
+
+import com.epam.esm.repository.metrics.QueryCounter;
+import com.epam.esm.service.exception.ServiceOverloadException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing on its own bounded pool, so signup and login bursts can't take
+ * all servlet threads. When the pool and its queue are full the work is rejected
+ * with {@link ServiceOverloadException} instead of waiting.
+ */
+@Component
+public class PasswordHashingService {
+
+    public static final String HASH_LATENCY_METRIC = "password.hashing.latency";
+    public static final String QUEUE_WAIT_METRIC = "password.hashing.queue.wait";
+    public static final String QUEUE_SIZE_METRIC = "password.hashing.queue.size";
+
+    private static final String OPERATION_TAG = "operation";
+    private static final String OVERLOAD_MESSAGE = "Too many password hashing requests, try again later";
+
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+
+    @Autowired
+    public PasswordHashingService(BCryptPasswordEncoder bCryptPasswordEncoder, MeterRegistry meterRegistry,
+                                  @Value("${password.hashing.threads:2}") int threads,
+                                  @Value("${password.hashing.queue-capacity:50}") int queueCapacity) {
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder(HASH_LATENCY_METRIC).tag(OPERATION_TAG, "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_LATENCY_METRIC).tag(OPERATION_TAG, "matches").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder(QUEUE_WAIT_METRIC).register(meterRegistry);
+        meterRegistry.gauge(QUEUE_SIZE_METRIC, queue, BlockingQueue::size);
+    }
+
+    /**
+     * Hash password.
+     *
+     * @param rawPassword the raw password
+     * @return the future of the hash
+     * @throws ServiceOverloadException if the hashing queue is full
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> bCryptPasswordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check password against hash.
+     *
+     * @param rawPassword the raw password
+     * @param encodedPassword the hash
+     * @return the future of the check result
+     * @throws ServiceOverloadException if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> bCryptPasswordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bCryptPasswordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The hashing thread completes the future and so submits the work chained to it,
+     * which keeps counting statements for the request through {@link QueryCounter}.
+     */
+    private <T> CompletableFuture<T> submit(Timer latencyTimer, Supplier<T> hashing) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return latencyTimer.record(hashing);
+            }, task -> executor.execute(QueryCounter.propagate(task)));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceOverloadException(OVERLOAD_MESSAGE, e);
+        }
+    }
+}
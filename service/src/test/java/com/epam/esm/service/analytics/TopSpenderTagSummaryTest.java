@@ -0,0 +1,81 @@
+package com.epam.esm.service.analytics;
+
+import com.epam.esm.repository.dao.OrderDao;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.repository.entity.UserSpending;
+import com.epam.esm.repository.entity.UserTagUsage;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class TopSpenderTagSummaryTest {
+
+    private static final Tag TAG_1 = new Tag(1, "tagName1");
+    private static final Tag TAG_2 = new Tag(2, "tagName2");
+
+    private final OrderDao orderDao = Mockito.mock(OrderDao.class);
+    private final TopSpenderTagSummary summary = new TopSpenderTagSummary(orderDao);
+
+    @Test
+    void emptyBeforeRebuild() {
+        summary.recordOrder(1, 10.0, List.of(TAG_1));
+
+        assertEquals(Optional.empty(), summary.readMostWidelyTagFromUserWithHighestCostOrders());
+    }
+
+    @Test
+    void rebuild() {
+        when(orderDao.readSpendingByUser()).thenReturn(List.of(
+                new UserSpending(1, 10.0), new UserSpending(2, 20.0)));
+        when(orderDao.readTagUsageByUser()).thenReturn(List.of(
+                new UserTagUsage(1, TAG_1, 5), new UserTagUsage(2, TAG_1, 1), new UserTagUsage(2, TAG_2, 2)));
+
+        summary.rebuild();
+
+        assertEquals(Optional.of(TAG_2), summary.readMostWidelyTagFromUserWithHighestCostOrders());
+    }
+
+    @Test
+    void rebuildReplaysOrdersCommittedWhileReading() {
+        when(orderDao.readSpendingByUser()).thenReturn(List.of(
+                new UserSpending(1, 10.0), new UserSpending(2, 20.0)));
+        when(orderDao.readTagUsageByUser()).thenAnswer(invocation -> {
+            summary.recordOrder(1, 15.0, List.of(TAG_1));
+            return List.of(new UserTagUsage(1, TAG_1, 5), new UserTagUsage(2, TAG_2, 2));
+        });
+
+        summary.rebuild();
+
+        assertEquals(Optional.of(TAG_1), summary.readMostWidelyTagFromUserWithHighestCostOrders());
+    }
+
+    @Test
+    void recordOrderChangesTopSpender() {
+        when(orderDao.readSpendingByUser()).thenReturn(List.of(
+                new UserSpending(1, 10.0), new UserSpending(2, 20.0)));
+        when(orderDao.readTagUsageByUser()).thenReturn(List.of(
+                new UserTagUsage(1, TAG_1, 5), new UserTagUsage(2, TAG_2, 2)));
+        summary.rebuild();
+
+        summary.recordOrder(1, 15.0, List.of(TAG_1));
+
+        assertEquals(Optional.of(TAG_1), summary.readMostWidelyTagFromUserWithHighestCostOrders());
+    }
+
+    @Test
+    void removeTag() {
+        when(orderDao.readSpendingByUser()).thenReturn(List.of(new UserSpending(1, 10.0)));
+        when(orderDao.readTagUsageByUser()).thenReturn(List.of(
+                new UserTagUsage(1, TAG_1, 5), new UserTagUsage(1, TAG_2, 2)));
+        summary.rebuild();
+
+        summary.removeTag(TAG_1.getId());
+
+        assertEquals(Optional.of(TAG_2), summary.readMostWidelyTagFromUserWithHighestCostOrders());
+    }
+}
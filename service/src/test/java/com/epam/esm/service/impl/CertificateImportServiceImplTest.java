@@ -0,0 +1,113 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.dto.CertificateDto;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.ImportReport;
+import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.service.TagService;
+import com.epam.esm.service.cache.CertificateCache;
+import com.epam.esm.service.search.CertificateTagIndex;
+import com.epam.esm.service.search.CertificateTextIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CertificateImportServiceImplTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    CertificateDao certificateDao = mock(CertificateDao.class);
+    TagService tagService = mock(TagService.class);
+    CertificateImportServiceImpl certificateImportService = new CertificateImportServiceImpl(certificateDao, tagService,
+            new CertificateCache(100, Duration.ofMinutes(1)), new CertificateTextIndex(certificateDao),
+            new CertificateTagIndex(certificateDao), mock(Validator.class),
+            mock(PlatformTransactionManager.class), CHUNK_SIZE);
+
+    private static final Tag TAG_1 = new Tag(1, "tagName1");
+    private static final Tag TAG_2 = new Tag(2, "tagName2");
+
+    private static final Certificate CERTIFICATE_1 = new Certificate(null, "giftCertificate1",
+            "description1", 10.1, 1, LocalDateTime.parse("2021-01-19T06:12:15.156"),
+            LocalDateTime.parse("2021-01-19T06:12:15.156"), Arrays.asList(TAG_1, TAG_2));
+    private static final Certificate CERTIFICATE_2 = new Certificate(null, "giftCertificate2",
+            "description2", 20.2, 2, LocalDateTime.parse("2021-01-19T06:12:15.156"),
+            LocalDateTime.parse("2021-01-19T06:12:15.156"), Collections.singletonList(TAG_1));
+    private static final Certificate CERTIFICATE_3 = new Certificate(null, "giftCertificate3",
+            "description3", 30.3, 3, LocalDateTime.parse("2021-01-19T06:12:15.156"),
+            LocalDateTime.parse("2021-01-19T06:12:15.156"), Collections.emptyList());
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * Assigns ids the way the batch insert does.
+     */
+    private final Answer<List<Certificate>> createAll = invocation -> {
+        List<Certificate> certificates = invocation.getArgument(0);
+        certificates.forEach(certificate -> certificate.setId(nextId.getAndIncrement()));
+        return certificates;
+    };
+
+    @Test
+    void importCertificates() {
+        CertificateDto withoutName = CERTIFICATE_2.toDto();
+        withoutName.setName(null);
+        List<CertificateDto> rows = Arrays.asList(CERTIFICATE_1.toDto(), withoutName,
+                CERTIFICATE_2.toDto(), CERTIFICATE_3.toDto());
+        Map<String, Integer> tagIds = new LinkedHashMap<>();
+        tagIds.put(TAG_1.getName(), TAG_1.getId());
+        tagIds.put(TAG_2.getName(), TAG_2.getId());
+        when(tagService.resolveNames(any())).thenReturn(tagIds);
+        when(certificateDao.createAll(any())).thenAnswer(createAll);
+
+        ImportReport actual = certificateImportService.importCertificates(rows.iterator());
+
+        assertEquals(3, actual.getImported());
+        assertEquals(Collections.singletonList(2), actual.getFailures().stream()
+                .map(ImportReport.RowFailure::getRow)
+                .collect(Collectors.toList()));
+        verify(tagService, times(1)).resolveNames(any());
+    }
+
+    @Test
+    void importCertificatesChunkFailure() {
+        List<CertificateDto> rows = Arrays.asList(CERTIFICATE_3.toDto(), CERTIFICATE_3.toDto(),
+                CERTIFICATE_3.toDto());
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(certificateDao.createAll(any())).thenAnswer(invocation -> {
+            List<Certificate> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            if (chunkSizes.size() == 1) {
+                throw new IllegalStateException("Duplicate entry");
+            }
+            return createAll.answer(invocation);
+        });
+
+        ImportReport actual = certificateImportService.importCertificates(rows.iterator());
+
+        assertEquals(1, actual.getImported());
+        assertEquals(Arrays.asList(1, 2), actual.getFailures().stream()
+                .map(ImportReport.RowFailure::getRow)
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList(CHUNK_SIZE, 1), chunkSizes);
+    }
+}
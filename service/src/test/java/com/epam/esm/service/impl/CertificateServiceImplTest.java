@@ -3,27 +3,50 @@ package com.epam.esm.service.impl;
 import com.epam.esm.repository.dao.CertificateDao;
 import com.epam.esm.repository.dto.CertificateDto;
 import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.CertificateSort;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
+import com.epam.esm.service.TagService;
+import com.epam.esm.service.cache.CertificateCache;
+import com.epam.esm.service.exception.IncorrectParameterException;
+import com.epam.esm.service.search.CertificateTagIndex;
+import com.epam.esm.service.search.CertificateTextIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CertificateServiceImplTest {
 
     CertificateDao certificateDao = mock(CertificateDao.class);
-    CertificateServiceImpl certificateService =
-            new CertificateServiceImpl(certificateDao);
+    TagService tagService = mock(TagService.class);
+    CertificateTextIndex certificateTextIndex = new CertificateTextIndex(certificateDao);
+    CertificateTagIndex certificateTagIndex = new CertificateTagIndex(certificateDao);
+    CertificateServiceImpl certificateService = new CertificateServiceImpl(certificateDao,
+            new CertificateCache(CACHE_SIZE, CACHE_TTL), tagService, certificateTextIndex, certificateTagIndex);
+
+    private static final long CACHE_SIZE = 100;
+    private static final Duration CACHE_TTL = Duration.ofMinutes(1);
 
     private static final Tag TAG_1 = new Tag(1, "tagName1");
     private static final Tag TAG_2 = new Tag(2, "tagName2");
@@ -62,6 +85,19 @@ class CertificateServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readAllAfter() {
+        List<Certificate> giftCertificates = Arrays.asList(CERTIFICATE_2, CERTIFICATE_3);
+        when(certificateDao.readAllAfter(new PageCursor(CERTIFICATE_1.getId()), SIZE)).thenReturn(giftCertificates);
+        List<Certificate> actual = certificateService.readAllAfter(new PageCursor(CERTIFICATE_1.getId()).encode(), SIZE)
+                .stream()
+                .map(CertificateDto::toEntity)
+                .collect(Collectors.toList());
+
+        List<Certificate> expected = giftCertificates;
+        assertEquals(expected, actual);
+    }
+
     @Test
     void read() {
         when(certificateDao.read(CERTIFICATE_2.getId())).thenReturn(Optional.of(CERTIFICATE_2));
@@ -71,6 +107,30 @@ class CertificateServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readCached() {
+        when(certificateDao.read(CERTIFICATE_2.getId())).thenReturn(Optional.of(CERTIFICATE_2));
+        certificateService.read(CERTIFICATE_2.getId());
+        Certificate actual = certificateService.read(CERTIFICATE_2.getId()).toEntity();
+
+        assertEquals(CERTIFICATE_2, actual);
+        verify(certificateDao, times(1)).read(CERTIFICATE_2.getId());
+    }
+
+    @Test
+    void updateEvictsCachedCertificate() {
+        when(certificateDao.read(CERTIFICATE_3.getId())).thenReturn(Optional.of(CERTIFICATE_3));
+        certificateService.read(CERTIFICATE_3.getId());
+
+        CertificateDto updated = CERTIFICATE_3.toDto();
+        updated.setName("giftCertificate4");
+        certificateService.update(CERTIFICATE_3.getId(), updated);
+        when(certificateDao.read(CERTIFICATE_3.getId())).thenReturn(Optional.of(updated.toEntity()));
+        String actual = certificateService.read(CERTIFICATE_3.getId()).getName();
+
+        assertEquals("giftCertificate4", actual);
+    }
+
     @Test
     void update() {
         when(certificateDao.read(CERTIFICATE_3.getId())).thenReturn(Optional.of(CERTIFICATE_3));
@@ -86,17 +146,47 @@ class CertificateServiceImplTest {
     @Test
     void readCertificateWithParams() {
         List<Certificate> giftCertificates = Arrays.asList(CERTIFICATE_2, CERTIFICATE_1);
-        when(certificateDao.readCertificateWithParams(TAG_2.getName(), null,
-                SORT_PARAMETER, false, PAGE, SIZE )).thenReturn(giftCertificates);
+        List<CertificateSort> sorts = Arrays.asList(new CertificateSort(CertificateSort.Field.NAME, false),
+                new CertificateSort(CertificateSort.Field.DATE, true));
+        when(certificateDao.readCertificateWithParams(TAG_2.getName(), null, null, sorts, PAGE, SIZE))
+                .thenReturn(giftCertificates);
 
         List<Certificate> actual = certificateService.readCertificateWithParams(TAG_2.getName(), null,
-                SORT_PARAMETER, false, PAGE, SIZE )
+                Arrays.asList("name,desc", "DATE", "name,asc"), PAGE, SIZE)
                 .stream().map(CertificateDto::toEntity).collect(Collectors.toList());
         List<Certificate> expected = giftCertificates;
 
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readCertificateWithParamsIncorrectSort() {
+        assertThrows(IncorrectParameterException.class, () -> certificateService.readCertificateWithParams(
+                null, null, Collections.singletonList("price,asc"), PAGE, SIZE));
+        assertThrows(IncorrectParameterException.class, () -> certificateService.readCertificateWithParams(
+                null, null, Collections.singletonList("name,up"), PAGE, SIZE));
+    }
+
+    @Test
+    void readCertificateWithParamsFromIndex() {
+        doAnswer(invocation -> {
+            Consumer<List<Certificate>> consumer = invocation.getArgument(1);
+            consumer.accept(Arrays.asList(CERTIFICATE_1, CERTIFICATE_2, CERTIFICATE_3));
+            return null;
+        }).when(certificateDao).readAllInBatches(anyInt(), any());
+        certificateTextIndex.build();
+        List<Certificate> giftCertificates = Collections.singletonList(CERTIFICATE_2);
+        when(certificateDao.readCertificateWithParams(TAG_2.getName(), null, Collections.singletonList(2),
+                Collections.emptyList(), PAGE, SIZE)).thenReturn(giftCertificates);
+
+        List<Certificate> actual = certificateService.readCertificateWithParams(TAG_2.getName(), "TION3",
+                null, PAGE, SIZE)
+                .stream().map(CertificateDto::toEntity).collect(Collectors.toList());
+
+        assertEquals(giftCertificates, actual);
+        verify(certificateDao, never()).readCertificateWithParams(any(), any(), isNull(), any(), anyInt(), anyInt());
+    }
+
     @Test
     void readBySomeTags() {
         List<Certificate> giftCertificates = Arrays.asList(CERTIFICATE_1, CERTIFICATE_3);
@@ -109,4 +199,34 @@ class CertificateServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readBySomeTagsFromIndex() {
+        doAnswer(invocation -> {
+            Consumer<List<Certificate>> consumer = invocation.getArgument(1);
+            consumer.accept(Arrays.asList(CERTIFICATE_1, CERTIFICATE_2, CERTIFICATE_3));
+            return null;
+        }).when(certificateDao).readAllInBatches(anyInt(), any());
+        certificateTagIndex.build();
+        List<String> tagNamesList = Arrays.asList(TAG_1.getName(), TAG_2.getName().toUpperCase());
+        when(certificateDao.readByIds(Collections.singletonList(3)))
+                .thenReturn(Collections.singletonList(CERTIFICATE_3));
+
+        List<Certificate> actual = certificateService.readBySomeTags(tagNamesList, 2, 1)
+                .stream().map(CertificateDto::toEntity).collect(Collectors.toList());
+
+        assertEquals(Collections.singletonList(CERTIFICATE_3), actual);
+        assertEquals(2L, certificateService.countBySomeTags(tagNamesList));
+        verify(certificateDao, never()).readCertificatesByTagNames(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void countBySomeTags() {
+        List<String> tagNamesList = Arrays.asList(TAG_1.getName(), TAG_2.getName());
+        when(certificateDao.countCertificatesByTagNames(tagNamesList)).thenReturn(2L);
+
+        long actual = certificateService.countBySomeTags(tagNamesList);
+
+        assertEquals(2L, actual);
+    }
+
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import com.epam.esm.repository.entity.Certificate;
 import com.epam.esm.repository.entity.Order;
 import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.repository.entity.User;
+import com.epam.esm.service.analytics.TopSpenderTagSummary;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -30,7 +31,8 @@ class OrderServiceImplTest {
     private UserDao userDao = Mockito.mock(UserDaoImpl.class);
     private CertificateDao certificateDao = Mockito.mock(CertificateDaoImpl.class);
 
-    private OrderServiceImpl orderService = new OrderServiceImpl(userDao, orderDao, certificateDao);
+    private OrderServiceImpl orderService = new OrderServiceImpl(userDao, orderDao, certificateDao,
+            new TopSpenderTagSummary(orderDao));
     private static final LocalDateTime UPDATED_DATE = LocalDateTime.parse("2018-08-29T06:12:15.156");
 
     private static final Order ORDER_1 = new Order(1, UPDATED_DATE,  new User("name1", "sname1"),
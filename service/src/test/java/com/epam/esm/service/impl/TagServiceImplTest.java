@@ -1,22 +1,36 @@
 package com.epam.esm.service.impl;
 
 import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.dao.OrderDao;
 import com.epam.esm.repository.dao.TagDao;
 import com.epam.esm.repository.dao.impl.TagDaoImpl;
 import com.epam.esm.repository.dao.impl.UserDaoImpl;
 import com.epam.esm.repository.dto.TagDto;
+import com.epam.esm.repository.entity.PageCursor;
 import com.epam.esm.repository.entity.Tag;
 import com.epam.esm.repository.entity.User;
+import com.epam.esm.repository.entity.UserSpending;
+import com.epam.esm.repository.entity.UserTagUsage;
+import com.epam.esm.repository.exception.PaginationException;
 import com.epam.esm.service.TagService;
+import com.epam.esm.service.analytics.TopSpenderTagSummary;
+import com.epam.esm.service.cache.CertificateCache;
 import com.epam.esm.service.exception.ResourceNotFoundException;
+import com.epam.esm.service.search.CertificateTagIndex;
 import com.epam.esm.service.exception.ResourceValidationException;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -26,8 +40,12 @@ import static org.mockito.Mockito.*;
 class TagServiceImplTest {
     TagDao tagDao = mock(TagDao.class);
     CertificateDao certificateDao = mock(CertificateDao.class);
+    OrderDao orderDao = mock(OrderDao.class);
+    TopSpenderTagSummary topSpenderTagSummary = new TopSpenderTagSummary(orderDao);
 
-    private TagServiceImpl tagService = new TagServiceImpl(tagDao, certificateDao);
+    private TagServiceImpl tagService = new TagServiceImpl(tagDao, certificateDao,
+            new CertificateCache(100, Duration.ofMinutes(1)), topSpenderTagSummary,
+            new CertificateTagIndex(certificateDao));
 
     private static final Tag TAG_1 = new Tag(1, "tagName1");
     private static final Tag TAG_2 = new Tag(2, "tagName2");
@@ -51,6 +69,39 @@ class TagServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void resolveNames() {
+        List<String> names = Arrays.asList(TAG_2.getName(), TAG_1.getName(), TAG_2.getName());
+        when(tagDao.readByNames(new LinkedHashSet<>(names))).thenReturn(Arrays.asList(TAG_2));
+        when(tagDao.createAll(Arrays.asList(new Tag(TAG_1.getName())))).thenReturn(Arrays.asList(TAG_1));
+
+        Map<String, Integer> actual = tagService.resolveNames(names);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put(TAG_2.getName(), TAG_2.getId());
+        expected.put(TAG_1.getName(), TAG_1.getId());
+
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+    }
+
+    @Test
+    void resolveNamesIgnoringCase() {
+        String upperCase = TAG_2.getName().toUpperCase(Locale.ROOT);
+        String newName = "newTagName";
+        List<String> names = Arrays.asList(upperCase, TAG_2.getName(), newName, newName.toUpperCase(Locale.ROOT));
+        when(tagDao.readByNames(new LinkedHashSet<>(names))).thenReturn(Arrays.asList(TAG_2));
+        when(tagDao.createAll(Arrays.asList(new Tag(newName)))).thenReturn(Arrays.asList(new Tag(7, newName)));
+
+        Map<String, Integer> actual = tagService.resolveNames(names);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put(upperCase, TAG_2.getId());
+        expected.put(TAG_2.getName(), TAG_2.getId());
+        expected.put(newName, 7);
+        expected.put(newName.toUpperCase(Locale.ROOT), 7);
+
+        assertEquals(expected, actual);
+    }
+
     @Test
     void read() {
         when(tagDao.read(TAG_3.getId())).thenReturn(Optional.of(TAG_3));
@@ -76,6 +127,24 @@ class TagServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readAllAfterFirstPage() {
+        List<Tag> tags = Arrays.asList(TAG_1, TAG_2);
+
+        when(tagDao.readAllAfter(new PageCursor(0), SIZE)).thenReturn(tags);
+
+        List<Tag> actual = tagService.readAllAfter("", SIZE).stream()
+                .map(TagDto::toEntity).collect(Collectors.toList());
+        List<Tag> expected = tags;
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void readAllAfterIncorrectCursor() {
+        assertThrows(PaginationException.class, () -> tagService.readAllAfter("not a cursor", SIZE));
+    }
+
     @Test
     void readMostWidelyTagFromUserWithHighestCostOrders() {
         when(tagDao.readMostWidelyTagFromUserWithHighestCostOrders()).thenReturn(TAG_1);
@@ -86,5 +155,15 @@ class TagServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void readMostWidelyTagFromUserWithHighestCostOrdersFromSummary() {
+        when(orderDao.readSpendingByUser()).thenReturn(List.of(new UserSpending(1, 10.0)));
+        when(orderDao.readTagUsageByUser()).thenReturn(List.of(new UserTagUsage(1, TAG_2, 3)));
+        topSpenderTagSummary.rebuild();
+
+        Tag actual = tagService.readMostWidelyTagFromUserWithHighestCostOrders().toEntity();
 
+        assertEquals(TAG_2, actual);
+        verify(tagDao, never()).readMostWidelyTagFromUserWithHighestCostOrders();
+    }
 }
\ No newline at end of file
@@ -5,13 +5,22 @@ import com.epam.esm.repository.dto.UserDto;
 import com.epam.esm.repository.entity.Role;
 import com.epam.esm.repository.entity.User;
 import com.epam.esm.service.UserService;
+import com.epam.esm.service.cache.UserDetailsCache;
+import com.epam.esm.service.exception.IncorrectParameterException;
+import com.epam.esm.service.security.PasswordHashingService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,11 +29,16 @@ import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
     private UserDaoImpl userDao = Mockito.mock(UserDaoImpl.class);
-    private BCryptPasswordEncoder bCryptPasswordEncoder = Mockito.mock(BCryptPasswordEncoder.class);
+    private PasswordHashingService passwordHashingService = Mockito.mock(PasswordHashingService.class);
 
-    private UserService userService = new UserServiceImpl(userDao, bCryptPasswordEncoder);
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ofSeconds(30));
+
+    private UserService userService = new UserServiceImpl(userDao, passwordHashingService,
+            userDetailsCache, mock(PlatformTransactionManager.class), Runnable::run);
 
     private static final User USER_1 = new User(1, "name1", "sname1", "email1", "$2a$10$GOvB8CJNN3gz8j96VDnAmuAyFhWpyHafyxXXRVAB.b/hndkSnbB8G", Role.USER);
+    private static final UserDetails USER_DETAILS = org.springframework.security.core.userdetails.User
+            .withUsername(USER_1.getEmail()).password(USER_1.getPassword()).roles(Role.USER.name()).build();
     private static final User USER_2 = new User(2, "name2", "sname2", "email2", "$2a$10$GOvB8CJNN3gz8j96VDnAmuAyFhWpyHafyxXXRVAB.b/hndkSnbB8G", Role.USER);
     private static final User USER_3 = new User(3, "name3", "sname3", "email3", "$2a$10$GOvB8CJNN3gz8j96VDnAmuAyFhWpyHafyxXXRVAB.b/hndkSnbB8G", Role.USER);
 
@@ -56,14 +70,52 @@ class UserServiceImplTest {
 
     @Test
     void saveUser() {
+        when(passwordHashingService.encode(USER_1.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(USER_1.getPassword()));
         when(userDao.saveUser(USER_1)).thenReturn(USER_1);
 
-        User actual = userService.saveUser(USER_1.toDto()).toEntity();
+        User actual = userService.saveUser(USER_1.toDto()).join().toEntity();
         User expected = USER_1;
 
         assertEquals(expected, actual);
     }
 
+    @Test
+    void saveUserEvictsUserDetailsAfterCommit() {
+        when(passwordHashingService.encode(USER_1.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(USER_1.getPassword()));
+        when(userDao.saveUser(USER_1)).thenReturn(USER_1);
+        assertEquals(Optional.empty(), userDetailsCache.get(USER_1.getEmail(), email -> Optional.empty()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.saveUser(USER_1.toDto()).join();
+            assertEquals(Optional.empty(), userDetailsCache.get(USER_1.getEmail(), email -> Optional.of(USER_DETAILS)));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(Optional.of(USER_DETAILS.getUsername()), userDetailsCache
+                .get(USER_1.getEmail(), email -> Optional.of(USER_DETAILS))
+                .map(UserDetails::getUsername));
+    }
+
+    @Test
+    void saveUserEmailTakenWhileHashing() {
+        when(passwordHashingService.encode(USER_1.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(USER_1.getPassword()));
+        when(userDao.findByEmail(USER_1.getEmail()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(USER_1));
+
+        CompletionException actual = assertThrows(CompletionException.class,
+                () -> userService.saveUser(USER_1.toDto()).join());
+
+        assertTrue(actual.getCause() instanceof IncorrectParameterException);
+        verify(userDao, never()).saveUser(any());
+    }
+
     @Test
     void findByEmail() {
         when(userDao.findByEmail(USER_2.getEmail())).thenReturn(Optional.of(USER_2));
@@ -0,0 +1,105 @@
+package com.epam.esm.service.search;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.Certificate;
+import com.epam.esm.repository.entity.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+class CertificateTagIndexTest {
+
+    private static final Tag TAG_1 = new Tag(1, "tagName1");
+    private static final Tag TAG_2 = new Tag(2, "tagName2");
+    private static final Tag TAG_3 = new Tag(3, "tagName3");
+
+    private final CertificateDao certificateDao = Mockito.mock(CertificateDao.class);
+    private final CertificateTagIndex index = new CertificateTagIndex(certificateDao);
+
+    private void build() {
+        doAnswer(invocation -> {
+            Consumer<List<Certificate>> consumer = invocation.getArgument(1);
+            consumer.accept(Arrays.asList(
+                    new Certificate(1, 1, Arrays.asList(TAG_1, TAG_2)),
+                    new Certificate(2, 1, Collections.singletonList(TAG_2)),
+                    new Certificate(3, 1, Arrays.asList(TAG_1, TAG_2, TAG_3))));
+            return null;
+        }).when(certificateDao).readAllInBatches(anyInt(), any());
+        index.build();
+    }
+
+    @Test
+    void searchBeforeBuild() {
+        assertEquals(Optional.empty(), index.search(Collections.singletonList(TAG_1.getName())));
+    }
+
+    @Test
+    void searchIntersectsTags() {
+        build();
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 3),
+                index.search(Arrays.asList(TAG_2.getName(), "TAGNAME1")).orElseThrow());
+        assertTrue(index.search(Arrays.asList(TAG_1.getName(), "unknown")).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void putReplacesCertificateTags() {
+        build();
+
+        index.put(3, Collections.singletonList(TAG_2));
+
+        assertEquals(RoaringBitmap.bitmapOf(1),
+                index.search(Collections.singletonList(TAG_1.getName())).orElseThrow());
+        assertTrue(index.search(Collections.singletonList(TAG_3.getName())).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void removeCertificateAndTag() {
+        build();
+
+        index.removeCertificate(2);
+        index.removeTag(TAG_1.getId());
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 3),
+                index.search(Collections.singletonList(TAG_2.getName())).orElseThrow());
+        assertTrue(index.search(Collections.singletonList(TAG_1.getName())).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void removeCertificateAfterTagRecreated() {
+        build();
+        Tag recreated = new Tag(4, TAG_1.getName());
+
+        index.removeTag(TAG_1.getId());
+        index.put(2, Arrays.asList(TAG_2, recreated));
+        index.removeCertificate(1);
+
+        assertEquals(RoaringBitmap.bitmapOf(2),
+                index.search(Collections.singletonList(TAG_1.getName())).orElseThrow());
+        assertEquals(RoaringBitmap.bitmapOf(2, 3),
+                index.search(Collections.singletonList(TAG_2.getName())).orElseThrow());
+    }
+
+    @Test
+    void bindTo() {
+        build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        index.bindTo(registry);
+
+        assertEquals(3, registry.get(CertificateTagIndex.TAGS_METRIC).gauge().value());
+        assertTrue(registry.get(CertificateTagIndex.MEMORY_METRIC).gauge().value() > 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.epam.esm.service.search;
+
+import com.epam.esm.repository.dao.CertificateDao;
+import com.epam.esm.repository.entity.Certificate;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+class CertificateTextIndexTest {
+
+    private static final Certificate CERTIFICATE_1 = new Certificate(1, "Spa weekend",
+            "Two days of massage", 10.1, 1, null, null, Collections.emptyList());
+    private static final Certificate CERTIFICATE_2 = new Certificate(2, "Massage",
+            "One hour", 20.2, 2, null, null, Collections.emptyList());
+
+    private final CertificateDao certificateDao = Mockito.mock(CertificateDao.class);
+    private final CertificateTextIndex index = new CertificateTextIndex(certificateDao);
+
+    private void build(Certificate... certificates) {
+        doAnswer(invocation -> {
+            Consumer<List<Certificate>> consumer = invocation.getArgument(1);
+            consumer.accept(Arrays.asList(certificates));
+            return null;
+        }).when(certificateDao).readAllInBatches(anyInt(), any());
+        index.build();
+    }
+
+    @Test
+    void searchBeforeBuild() {
+        assertEquals(Optional.empty(), index.search("massage"));
+    }
+
+    @Test
+    void searchShortPart() {
+        build(CERTIFICATE_1, CERTIFICATE_2);
+
+        assertEquals(Optional.empty(), index.search("ma"));
+    }
+
+    @Test
+    void searchNameAndDescriptionIgnoringCase() {
+        build(CERTIFICATE_1, CERTIFICATE_2);
+
+        assertEquals(Optional.of(Arrays.asList(1, 2)), index.search("MASSAGE"));
+        assertEquals(Optional.of(Collections.singletonList(1)), index.search("weekend"));
+    }
+
+    @Test
+    void searchDoesNotMatchAcrossFields() {
+        build(new Certificate(3, "abc", "bcd", 1.0, 1, null, null, Collections.emptyList()));
+
+        assertEquals(Optional.of(Collections.emptyList()), index.search("abcd"));
+    }
+
+    @Test
+    void putAndRemove() {
+        build(CERTIFICATE_1, CERTIFICATE_2);
+
+        index.put(2, "Dinner", "Three courses");
+        index.remove(1);
+
+        assertEquals(Optional.of(Collections.emptyList()), index.search("massage"));
+        assertEquals(Optional.of(Collections.singletonList(2)), index.search("course"));
+    }
+}
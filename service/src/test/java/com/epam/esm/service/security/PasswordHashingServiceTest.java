@@ -0,0 +1,59 @@
+package com.epam.esm.service.security;
+
+import com.epam.esm.service.exception.ServiceOverloadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private static final String PASSWORD = "password";
+    private static final String HASH = "$2a$10$GOvB8CJNN3gz8j96VDnAmuAyFhWpyHafyxXXRVAB.b/hndkSnbB8G";
+
+    private final BCryptPasswordEncoder bCryptPasswordEncoder = Mockito.mock(BCryptPasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingService passwordHashingService =
+            new PasswordHashingService(bCryptPasswordEncoder, meterRegistry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encode() {
+        when(bCryptPasswordEncoder.encode(PASSWORD)).thenReturn(HASH);
+
+        String actual = passwordHashingService.encode(PASSWORD).join();
+
+        assertEquals(HASH, actual);
+        assertEquals(1, meterRegistry.get(PasswordHashingService.HASH_LATENCY_METRIC)
+                .tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void encodeWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bCryptPasswordEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return HASH;
+        });
+
+        passwordHashingService.encode(PASSWORD);
+        started.await();
+        passwordHashingService.encode(PASSWORD);
+
+        assertThrows(ServiceOverloadException.class, () -> passwordHashingService.encode(PASSWORD));
+        release.countDown();
+    }
+}